@@ -33,11 +33,39 @@ import org.apache.webbeans.event.EventContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.TransactionService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 
 @SuppressWarnings("unchecked")
 public final class TransactionalEventNotifier
 {
+    /**
+     * If set to true the same event fired more than once for the same observer and phase
+     * inside a transaction only gets delivered once.
+     */
+    public static final String COALESCE_EVENTS = "org.apache.webbeans.event.transactional.coalesce";
+
+    /**
+     * The pending notifications of the running transactions. There is a single
+     * {@link Synchronization} per transaction which delivers all of them, whichever
+     * {@link WebBeansContext} fired them. Each event is coalesced according to the
+     * configuration of the context which fired it.
+     *
+     * JTA allows to suspend a transaction and to resume it on another thread, so the entry of a
+     * transaction may get created by two threads at once.
+     *
+     * An entry gets removed in {@link Synchronization#afterCompletion(int)}, so a transaction manager
+     * which never invokes it for a registered Synchronization leaks the entry of the transaction
+     * together with its pending events.
+     */
+    private static final ConcurrentMap<Transaction, TransactionalEventBuffer> BUFFERS = new ConcurrentHashMap<>();
+
     private TransactionalEventNotifier()
     {
         // utility class ct
@@ -64,7 +92,18 @@ public final class TransactionalEventNotifier
      */
     public static void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event, EventMetadata metadata) throws Exception
     {
-        TransactionService transactionService = WebBeansContext.currentInstance().getService(TransactionService.class);
+        registerTransactionSynchronization(WebBeansContext.currentInstance(), phase, observer, event, metadata);
+    }
+
+    /**
+     * Same as {@link #registerTransactionSynchronization(TransactionPhase, ObserverMethod, Object, EventMetadata)}
+     * for callers which already know their {@link WebBeansContext}.
+     */
+    public static void registerTransactionSynchronization(WebBeansContext webBeansContext, TransactionPhase phase,
+                                                          ObserverMethod<? super Object> observer, Object event,
+                                                          EventMetadata metadata) throws Exception
+    {
+        TransactionService transactionService = webBeansContext.getService(TransactionService.class);
         
         Transaction transaction = null;
         if(transactionService != null)
@@ -74,29 +113,15 @@ public final class TransactionalEventNotifier
         
         if(transaction != null)
         {
-            if (phase == TransactionPhase.AFTER_COMPLETION)
-            {
-                registerEvent(transaction, new AfterCompletion(observer, event, metadata), true);
-            }
-            else if (phase == TransactionPhase.AFTER_SUCCESS)
-            {
-                if (transaction.getStatus() == Status.STATUS_NO_TRANSACTION)
-                {
-                    // the AFTER_SUCCESS observers only get invoked if the TX succeeds or if there is no transaction
-                    new AfterCompletionSuccess(observer, event, metadata).notifyObserver();
-                }
-                else
-                {
-                    registerEvent(transaction, new AfterCompletionSuccess(observer, event, metadata), false);
-                }
-            }
-            else if (phase == TransactionPhase.AFTER_FAILURE)
+            if (phase == TransactionPhase.AFTER_SUCCESS && transaction.getStatus() == Status.STATUS_NO_TRANSACTION)
             {
-                registerEvent(transaction, new AfterCompletionFailure(observer, event, metadata), true);
+                // the AFTER_SUCCESS observers only get invoked if the TX succeeds or if there is no transaction
+                new PendingNotification(phase, observer, event, metadata).notifyObserver();
             }
-            else if (phase == TransactionPhase.BEFORE_COMPLETION)
+            else if (phase == TransactionPhase.AFTER_COMPLETION || phase == TransactionPhase.AFTER_SUCCESS
+                || phase == TransactionPhase.AFTER_FAILURE || phase == TransactionPhase.BEFORE_COMPLETION)
             {
-                registerEvent(transaction, new BeforeCompletion(observer, event, metadata), true);
+                registerEvent(webBeansContext, transaction, new PendingNotification(phase, observer, event, metadata));
             }
             else
             {
@@ -109,122 +134,186 @@ public final class TransactionalEventNotifier
         }
     }
 
-    private static void registerEvent(Transaction transaction, AbstractSynchronization synchronization, boolean immediateOnError)
+    private static void registerEvent(WebBeansContext webBeansContext, Transaction transaction, PendingNotification notification)
         throws SystemException
     {
-        try
+        TransactionalEventBuffer buffer = BUFFERS.get(transaction);
+        if (buffer != null && transaction.getStatus() != Status.STATUS_ACTIVE)
         {
-            transaction.registerSynchronization(synchronization);
+            // registering a Synchronization would fail now (rollback only or completing),
+            // so handle the event like the first one of such a transaction
+            notifyWithoutTransaction(notification);
+            return;
         }
-        catch (RollbackException | IllegalStateException re)
+        if (buffer == null)
         {
-            if (immediateOnError)
+            // registers at most one Synchronization, even if another thread registers for the same transaction
+            SystemException[] failure = new SystemException[1];
+            buffer = BUFFERS.computeIfAbsent(transaction, tx ->
+            {
+                TransactionalEventBuffer created = new TransactionalEventBuffer(tx);
+                try
+                {
+                    tx.registerSynchronization(created);
+                    return created;
+                }
+                catch (RollbackException | IllegalStateException re)
+                {
+                    return null;
+                }
+                catch (SystemException se)
+                {
+                    failure[0] = se;
+                    return null;
+                }
+            });
+            if (failure[0] != null)
+            {
+                throw failure[0];
+            }
+            if (buffer == null)
             {
-                synchronization.notifyObserver();
+                notifyWithoutTransaction(notification);
+                return;
             }
         }
+        buffer.add(notification, Boolean.parseBoolean(
+            webBeansContext.getOpenWebBeansConfiguration().getProperty(COALESCE_EVENTS, "false")));
     }
 
-    private static class AbstractSynchronization<T> implements Synchronization
+    /**
+     * The transaction will not succeed, AFTER_SUCCESS observers get skipped and all others are notified immediately.
+     */
+    private static void notifyWithoutTransaction(PendingNotification notification)
     {
-
-        private final ObserverMethod<T> observer;
-        private final T event;
-        private final EventMetadata metadata;
-
-        public AbstractSynchronization(ObserverMethod<T> observer, T event, EventMetadata metadata)
+        if (notification.phase != TransactionPhase.AFTER_SUCCESS)
         {
-            this.observer = observer;
-            this.event = event;
-            this.metadata = metadata;
+            notification.notifyObserver();
         }
+    }
 
-        @Override
-        public void beforeCompletion()
-        {
-            // Do nothing
-        }
+    /**
+     * The single {@link Synchronization} of a transaction, it delivers the pending notifications
+     * in the order they have been fired.
+     */
+    private static final class TransactionalEventBuffer implements Synchronization
+    {
+        private final Transaction transaction;
+        private final Set<PendingNotification> coalesced = new HashSet<>();
+        private final List<PendingNotification> notifications = new ArrayList<>();
 
-        @Override
-        public void afterCompletion(int i)
+        private TransactionalEventBuffer(Transaction transaction)
         {
-            //Do nothing
+            this.transaction = transaction;
         }
 
-        public void notifyObserver()
+        /**
+         * @param coalesce whether the context firing the event coalesces its transactional events
+         */
+        private synchronized void add(PendingNotification notification, boolean coalesce)
         {
-            try
+            if (!coalesce || coalesced.add(notification))
             {
-                observer.notify(new EventContextImpl(event, metadata));
-            }
-            catch (Exception e)
-            {
-                WebBeansLoggerFacade.getLogger(TransactionalEventNotifier.class)
-                        .log(Level.SEVERE, OWBLogConst.ERROR_0003, e);
+                notifications.add(notification);
             }
         }
-    }
 
-    private static final class BeforeCompletion extends AbstractSynchronization
-    {
-        private BeforeCompletion(ObserverMethod observer, Object event, EventMetadata metadata)
+        private synchronized PendingNotification get(int index)
         {
-            super(observer, event, metadata);
+            return index < notifications.size() ? notifications.get(index) : null;
         }
 
         @Override
         public void beforeCompletion()
         {
-            notifyObserver();
-        }
-    }
-
-    private static final class AfterCompletion extends AbstractSynchronization
-    {
-        private AfterCompletion(ObserverMethod observer, Object event, EventMetadata metadata)
-        {
-            super(observer, event, metadata);
+            // BEFORE_COMPLETION observers may fire further transactional events, they get appended and delivered too
+            for (int i = 0; ; i++)
+            {
+                PendingNotification notification = get(i);
+                if (notification == null)
+                {
+                    break;
+                }
+                if (notification.phase == TransactionPhase.BEFORE_COMPLETION)
+                {
+                    notification.notifyObserver();
+                }
+            }
         }
 
         @Override
-        public void afterCompletion(int i)
+        public void afterCompletion(int status)
         {
-            notifyObserver();
+            // events fired from now on are handled like the ones of a completed transaction
+            BUFFERS.remove(transaction, this);
+
+            boolean committed = status == Status.STATUS_COMMITTED;
+            for (int i = 0; ; i++)
+            {
+                PendingNotification notification = get(i);
+                if (notification == null)
+                {
+                    break;
+                }
+                if (notification.phase == TransactionPhase.AFTER_COMPLETION
+                    || notification.phase == TransactionPhase.AFTER_SUCCESS && committed
+                    || notification.phase == TransactionPhase.AFTER_FAILURE && !committed)
+                {
+                    notification.notifyObserver();
+                }
+            }
         }
     }
 
-    private static final class AfterCompletionSuccess extends AbstractSynchronization
+    private static final class PendingNotification
     {
-        private AfterCompletionSuccess(ObserverMethod observer, Object event, EventMetadata metadata)
+        private final TransactionPhase phase;
+        private final ObserverMethod<? super Object> observer;
+        private final Object event;
+        private final EventMetadata metadata;
+
+        private PendingNotification(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event, EventMetadata metadata)
         {
-            super(observer, event, metadata);
+            this.phase = phase;
+            this.observer = observer;
+            this.event = event;
+            this.metadata = metadata;
         }
 
-        @Override
-        public void afterCompletion(int i)
+        private void notifyObserver()
         {
-            if (i == Status.STATUS_COMMITTED)
+            try
+            {
+                observer.notify(new EventContextImpl(event, metadata));
+            }
+            catch (Exception e)
             {
-                notifyObserver();
+                WebBeansLoggerFacade.getLogger(TransactionalEventNotifier.class)
+                        .log(Level.SEVERE, OWBLogConst.ERROR_0003, e);
             }
         }
-    }
 
-    private static final class AfterCompletionFailure extends AbstractSynchronization
-    {
-        private AfterCompletionFailure(ObserverMethod observer, Object event, EventMetadata metadata)
+        @Override
+        public boolean equals(Object o)
         {
-            super(observer, event, metadata);
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof PendingNotification))
+            {
+                return false;
+            }
+            PendingNotification other = (PendingNotification) o;
+            return phase == other.phase && observer == other.observer && Objects.equals(event, other.event)
+                && (metadata == other.metadata || metadata != null && other.metadata != null
+                    && metadata.getQualifiers().equals(other.metadata.getQualifiers()));
         }
 
         @Override
-        public void afterCompletion(int i)
+        public int hashCode()
         {
-            if (i != Status.STATUS_COMMITTED)
-            {
-                notifyObserver();
-            }
+            return 31 * System.identityHashCode(observer) + Objects.hashCode(event);
         }
     }
-    
 }
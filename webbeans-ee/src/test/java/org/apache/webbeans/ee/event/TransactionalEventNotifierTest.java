@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+import javax.transaction.xa.XAResource;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.TransactionService;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransactionalEventNotifierTest
+{
+    private final List<String> received = new ArrayList<>();
+    private final StubTransaction transaction = new StubTransaction();
+    private final Map<TransactionPhase, RecordingObserver> observers = new EnumMap<>(TransactionPhase.class);
+
+    @Test
+    public void eventsAreDeliveredInFiringOrderThroughOneSynchronization() throws Exception
+    {
+        WebBeansContext webBeansContext = webBeansContext(false);
+
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "success");
+        fire(webBeansContext, TransactionPhase.BEFORE_COMPLETION, "before");
+        fire(webBeansContext, TransactionPhase.AFTER_FAILURE, "failure");
+        fire(webBeansContext, TransactionPhase.AFTER_COMPLETION, "completion");
+        Assert.assertEquals(1, transaction.synchronizations.size());
+        Assert.assertTrue(received.isEmpty());
+
+        transaction.complete(Status.STATUS_COMMITTED);
+        Assert.assertEquals("[before, success, completion]", received.toString());
+    }
+
+    @Test
+    public void sameEventIsCoalesced() throws Exception
+    {
+        WebBeansContext webBeansContext = webBeansContext(true);
+
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "event");
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "event");
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "other");
+
+        transaction.complete(Status.STATUS_COMMITTED);
+        Assert.assertEquals("[event, other]", received.toString());
+    }
+
+    @Test
+    public void coalescingIsConfiguredPerContext() throws Exception
+    {
+        WebBeansContext plain = webBeansContext(false);
+        WebBeansContext coalescing = webBeansContext(true);
+
+        // the first context creating the buffer of the transaction must not decide for the other one
+        fire(plain, TransactionPhase.AFTER_SUCCESS, "plain");
+        fire(plain, TransactionPhase.AFTER_SUCCESS, "plain");
+        fire(coalescing, TransactionPhase.AFTER_SUCCESS, "coalesced");
+        fire(coalescing, TransactionPhase.AFTER_SUCCESS, "coalesced");
+        Assert.assertEquals(1, transaction.synchronizations.size());
+
+        transaction.complete(Status.STATUS_COMMITTED);
+        Assert.assertEquals("[plain, plain, coalesced]", received.toString());
+    }
+
+    @Test
+    public void eventsOfARollbackOnlyTransactionAreNotQueued() throws Exception
+    {
+        WebBeansContext webBeansContext = webBeansContext(false);
+
+        fire(webBeansContext, TransactionPhase.AFTER_COMPLETION, "queued");
+        transaction.setRollbackOnly();
+
+        fire(webBeansContext, TransactionPhase.BEFORE_COMPLETION, "before");
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "success");
+        fire(webBeansContext, TransactionPhase.AFTER_FAILURE, "failure");
+        Assert.assertEquals("[before, failure]", received.toString());
+
+        // JTA skips beforeCompletion on a rollback
+        transaction.synchronizations.get(0).afterCompletion(Status.STATUS_ROLLEDBACK);
+        Assert.assertEquals("[before, failure, queued]", received.toString());
+    }
+
+    @Test
+    public void firstEventOfARollbackOnlyTransaction() throws Exception
+    {
+        WebBeansContext webBeansContext = webBeansContext(false);
+        transaction.setRollbackOnly();
+
+        fire(webBeansContext, TransactionPhase.AFTER_SUCCESS, "success");
+        fire(webBeansContext, TransactionPhase.AFTER_FAILURE, "failure");
+        Assert.assertEquals("[failure]", received.toString());
+        Assert.assertTrue(transaction.synchronizations.isEmpty());
+    }
+
+    private void fire(WebBeansContext webBeansContext, TransactionPhase phase, String event) throws Exception
+    {
+        TransactionalEventNotifier.registerTransactionSynchronization(webBeansContext, phase, observers.computeIfAbsent(phase, RecordingObserver::new), event, null);
+    }
+
+    private WebBeansContext webBeansContext(boolean coalesce)
+    {
+        Map<Class<?>, Object> services = new HashMap<>();
+        services.put(TransactionService.class, new StubTransactionService());
+        Properties properties = new Properties();
+        properties.setProperty(TransactionalEventNotifier.COALESCE_EVENTS, String.valueOf(coalesce));
+        return new WebBeansContext(services, properties);
+    }
+
+    private final class RecordingObserver implements ObserverMethod<Object>
+    {
+        private final TransactionPhase phase;
+
+        private RecordingObserver(TransactionPhase phase)
+        {
+            this.phase = phase;
+        }
+
+        @Override
+        public void notify(Object event)
+        {
+            received.add(String.valueOf(event));
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return TransactionalEventNotifierTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return String.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return phase;
+        }
+    }
+
+    private final class StubTransactionService implements TransactionService
+    {
+        @Override
+        public TransactionManager getTransactionManager()
+        {
+            return null;
+        }
+
+        @Override
+        public Transaction getTransaction()
+        {
+            return transaction;
+        }
+
+        @Override
+        public UserTransaction getUserTransaction()
+        {
+            return null;
+        }
+
+        @Override
+        public void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class StubTransaction implements Transaction
+    {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+        private int status = Status.STATUS_ACTIVE;
+
+        private void complete(int completionStatus)
+        {
+            for (Synchronization synchronization : synchronizations)
+            {
+                synchronization.beforeCompletion();
+            }
+            status = completionStatus;
+            for (Synchronization synchronization : synchronizations)
+            {
+                synchronization.afterCompletion(completionStatus);
+            }
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization) throws RollbackException
+        {
+            if (status == Status.STATUS_MARKED_ROLLBACK)
+            {
+                throw new RollbackException();
+            }
+            if (status != Status.STATUS_ACTIVE)
+            {
+                throw new IllegalStateException();
+            }
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public int getStatus()
+        {
+            return status;
+        }
+
+        @Override
+        public void setRollbackOnly()
+        {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+
+        @Override
+        public void commit()
+        {
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        @Override
+        public void rollback()
+        {
+            status = Status.STATUS_ROLLEDBACK;
+            for (Synchronization synchronization : synchronizations)
+            {
+                synchronization.afterCompletion(Status.STATUS_ROLLEDBACK);
+            }
+        }
+
+        @Override
+        public boolean enlistResource(XAResource xaResource)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean delistResource(XAResource xaResource, int flag)
+        {
+            return false;
+        }
+    }
+}
@@ -30,12 +30,10 @@ import org.apache.webbeans.util.ArrayUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
 
-import javax.enterprise.context.NormalScope;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Default;
 import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.New;
-import javax.enterprise.inject.Stereotype;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
@@ -43,9 +41,6 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.Nonbinding;
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.inject.Qualifier;
-import javax.inject.Scope;
-import javax.interceptor.InterceptorBinding;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
@@ -78,6 +73,8 @@ public final class AnnotationManager
 
     private ConcurrentMap<Class<?>, Optional<Method>> repeatableMethodCache = new ConcurrentHashMap<>();
 
+    private final MetaAnnotationIndex metaAnnotationIndex = new MetaAnnotationIndex();
+
     private final BeanManagerImpl beanManagerImpl;
     private final WebBeansContext webBeansContext;
 
@@ -118,7 +115,7 @@ public final class AnnotationManager
     {
         Asserts.nullCheckForClass(clazz);
 
-        return clazz.isAnnotationPresent(InterceptorBinding.class)
+        return metaAnnotationIndex.is(clazz, MetaAnnotationIndex.INTERCEPTOR_BINDING)
                || webBeansContext.getInterceptorsManager().hasInterceptorBindingType(clazz);
     }
 
@@ -200,9 +197,39 @@ public final class AnnotationManager
     {
         Asserts.assertNotNull(anns, Asserts.PARAM_NAME_ANNOTATION);
 
+        if ((metaAnnotationIndex.getCategories(anns) & MetaAnnotationIndex.INTERCEPTOR_BINDING) != 0)
+        {
+            return true;
+        }
+
+        // only the interceptor bindings added by extensions are left
         for (Annotation ann : anns)
         {
-            if (isInterceptorBindingAnnotation(ann.annotationType()))
+            if (webBeansContext.getInterceptorsManager().hasInterceptorBindingType(ann.annotationType()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Same as {@link #hasInterceptorBindingMetaAnnotation(Annotation[])} for the annotations of an
+     * {@link javax.enterprise.inject.spi.Annotated}.
+     */
+    public boolean hasInterceptorBindingMetaAnnotation(Collection<Annotation> anns)
+    {
+        Asserts.assertNotNull(anns, Asserts.PARAM_NAME_ANNOTATION);
+
+        if ((metaAnnotationIndex.getCategories(anns) & MetaAnnotationIndex.INTERCEPTOR_BINDING) != 0)
+        {
+            return true;
+        }
+
+        for (Annotation ann : anns)
+        {
+            if (webBeansContext.getInterceptorsManager().hasInterceptorBindingType(ann.annotationType()))
             {
                 return true;
             }
@@ -277,7 +304,7 @@ public final class AnnotationManager
         boolean result = false;
 
         Asserts.nullCheckForClass(clazz);
-        if (clazz.isAnnotationPresent(Qualifier.class))
+        if (metaAnnotationIndex.is(clazz, MetaAnnotationIndex.QUALIFIER))
         {
             result = true;
         }
@@ -550,7 +577,7 @@ public final class AnnotationManager
 
         boolean result = false;
 
-        if (clazz.isAnnotationPresent(Stereotype.class) || webBeansContext.getStereoTypeManager().getStereoTypeModel(clazz.getName()) != null)
+        if (metaAnnotationIndex.is(clazz, MetaAnnotationIndex.STEREOTYPE) || webBeansContext.getStereoTypeManager().getStereoTypeModel(clazz.getName()) != null)
         {
             result = true;
         }
@@ -595,6 +622,12 @@ public final class AnnotationManager
     {
         Asserts.assertNotNull(anns, Asserts.PARAM_NAME_ANNOTATION);
 
+        if ((metaAnnotationIndex.getCategories(anns) & MetaAnnotationIndex.STEREOTYPE) != 0)
+        {
+            return true;
+        }
+
+        // stereotypes added by extensions
         for (Annotation ann : anns)
         {
             if (isStereoTypeAnnotation(ann.annotationType()))
@@ -713,7 +746,7 @@ public final class AnnotationManager
         {
             Class<? extends Annotation> annotType = annotation.annotationType();
 
-            if (annotType.isAnnotationPresent(NormalScope.class) || annotType.isAnnotationPresent(Scope.class))
+            if (metaAnnotationIndex.is(annotType, MetaAnnotationIndex.ANY_SCOPE))
             {
                 if (scopeTypeFound)
                 {
@@ -870,7 +903,7 @@ public final class AnnotationManager
             Annotation[] anns = getStereotypeMetaAnnotations(superMethod.getAnnotations());
             for(Annotation ann : anns)
             {
-                if(ann.annotationType().isAnnotationPresent(Stereotype.class))
+                if(metaAnnotationIndex.is(ann.annotationType(), MetaAnnotationIndex.STEREOTYPE))
                 {
                     hasName = true;
                     break;
@@ -972,6 +1005,15 @@ public final class AnnotationManager
     public void clearCaches()
     {
         repeatableMethodCache.clear();
+        metaAnnotationIndex.clear();
+    }
+
+    /**
+     * @return the meta-annotations per annotation type, shared by the deployment and the validation
+     */
+    public MetaAnnotationIndex getMetaAnnotationIndex()
+    {
+        return metaAnnotationIndex;
     }
 
     public Optional<Method> getRepeatableMethod(Class<?> type)
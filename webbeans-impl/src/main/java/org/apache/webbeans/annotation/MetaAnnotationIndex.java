@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.NormalScope;
+import javax.enterprise.inject.Stereotype;
+import javax.inject.Qualifier;
+import javax.inject.Scope;
+import javax.interceptor.InterceptorBinding;
+
+/**
+ * Which CDI meta-annotations an annotation type carries, read once per annotation type
+ * instead of one reflective lookup per question.
+ *
+ * It only reflects the meta-annotations present on the types, the qualifiers, scopes,
+ * stereotypes and interceptor bindings added by extensions are handled by the callers.
+ * For a class or a member {@link #getCategories(Annotation[])} merges the categories of its annotations.
+ */
+public final class MetaAnnotationIndex
+{
+    public static final int QUALIFIER = 1;
+    public static final int SCOPE = 1 << 1;
+    public static final int NORMAL_SCOPE = 1 << 2;
+    public static final int STEREOTYPE = 1 << 3;
+    public static final int INTERCEPTOR_BINDING = 1 << 4;
+
+    /**
+     * {@link #SCOPE} or {@link #NORMAL_SCOPE}.
+     */
+    public static final int ANY_SCOPE = SCOPE | NORMAL_SCOPE;
+
+    private final Map<Class<? extends Annotation>, Integer> categories = new ConcurrentHashMap<>();
+
+    /**
+     * @return the categories of the given annotation type, a combination of the constants of this class
+     */
+    public int getCategories(Class<? extends Annotation> annotationType)
+    {
+        Integer cached = categories.get(annotationType);
+        if (cached == null)
+        {
+            cached = computeCategories(annotationType);
+            categories.put(annotationType, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * @return the merged categories of the given annotations, for instance the ones of a class or a member
+     */
+    public int getCategories(Annotation[] annotations)
+    {
+        int merged = 0;
+        for (Annotation annotation : annotations)
+        {
+            merged |= getCategories(annotation.annotationType());
+        }
+        return merged;
+    }
+
+    public int getCategories(Collection<Annotation> annotations)
+    {
+        int merged = 0;
+        for (Annotation annotation : annotations)
+        {
+            merged |= getCategories(annotation.annotationType());
+        }
+        return merged;
+    }
+
+    public boolean is(Class<? extends Annotation> annotationType, int category)
+    {
+        return (getCategories(annotationType) & category) != 0;
+    }
+
+    public void clear()
+    {
+        categories.clear();
+    }
+
+    private static int computeCategories(Class<? extends Annotation> annotationType)
+    {
+        int result = 0;
+        for (Annotation metaAnnotation : annotationType.getDeclaredAnnotations())
+        {
+            Class<? extends Annotation> metaType = metaAnnotation.annotationType();
+            if (metaType == Qualifier.class)
+            {
+                result |= QUALIFIER;
+            }
+            else if (metaType == Scope.class)
+            {
+                result |= SCOPE;
+            }
+            else if (metaType == NormalScope.class)
+            {
+                result |= NORMAL_SCOPE;
+            }
+            else if (metaType == Stereotype.class)
+            {
+                result |= STEREOTYPE;
+            }
+            else if (metaType == InterceptorBinding.class)
+            {
+                result |= INTERCEPTOR_BINDING;
+            }
+        }
+        return result;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 
 import javax.enterprise.context.Dependent;
@@ -113,6 +114,7 @@ public abstract class AbstractOwbBean<T>
     @Override
     public T create(CreationalContext<T> creationalContext)
     {
+        Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginInstanceCreation() : null;
         try
         {
             if(!(creationalContext instanceof CreationalContextImpl))
@@ -132,6 +134,14 @@ public abstract class AbstractOwbBean<T>
             {
                 ((CreationalContextImpl<T>)creationalContext).addDependent(this, instance);
             }
+            if (webBeansContext.isMetricsEnabled() && instance != null)
+            {
+                webBeansContext.getMetricsService().instanceCreated(getScope());
+            }
+            if (recorded != null && instance != null)
+            {
+                FlightRecorderEvents.endInstanceCreation(recorded, this);
+            }
             return instance;
         }
         catch (Exception re)
@@ -188,6 +198,10 @@ public abstract class AbstractOwbBean<T>
             producer.dispose(instance);
             //Destroy dependent instances
             creationalContext.release();
+            if (webBeansContext.isMetricsEnabled())
+            {
+                webBeansContext.getMetricsService().instanceDestroyed(getScope());
+            }
         }
         catch(Exception e)
         {
@@ -62,11 +62,13 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.DefinitionException;
 
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.intercept.InterceptorResolutionIndex;
 import org.apache.webbeans.intercept.InterceptorsManager;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.portable.BaseProducerProducer;
+import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.portable.events.ProcessBeanAttributesImpl;
 import org.apache.webbeans.portable.events.ProcessBeanImpl;
 import org.apache.webbeans.portable.events.ProcessSyntheticAnnotatedTypeImpl;
@@ -127,6 +129,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -168,6 +171,26 @@ public class BeansDeployer
     protected boolean skipNoClassDefFoundTriggers;
     protected boolean skipValidations;
 
+    /**
+     * Defer the interceptor/decorator resolution and the proxy class generation of each bean
+     * to its first usage, structural validations are kept.
+     */
+    protected boolean lazyInitialization;
+    protected boolean lazyInitializationWarmup;
+    private final List<AbstractProducer<?>> deferredProducers = new ArrayList<>();
+
+    /**
+     * Thread defining the deferred interceptor stacks, stopped by {@link #shutdown()}.
+     */
+    private volatile Thread warmup;
+    private volatile boolean shutdown;
+    private final InterceptorResolutionIndex interceptorResolutionIndex;
+
+    /**
+     * Only set during {@link #deploy(ScannerService)} if the deployment report is enabled.
+     */
+    private DeploymentReport deploymentReport;
+
     /**
      * This BdaInfo is used for all manually added annotated types or in case
      * a non-Bda-aware ScannerService got configured.
@@ -194,11 +217,24 @@ public class BeansDeployer
         skipValidations = Boolean.parseBoolean(this.webBeansContext.getOpenWebBeansConfiguration().getProperty(
                 "org.apache.webbeans.spi.deployer.skipValidations"));
         skipNoClassDefFoundTriggers = this.webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers();
+        lazyInitialization = Boolean.parseBoolean(this.webBeansContext.getOpenWebBeansConfiguration().getProperty(
+                "org.apache.webbeans.spi.deployer.lazyInitialization"));
+        lazyInitializationWarmup = Boolean.parseBoolean(this.webBeansContext.getOpenWebBeansConfiguration().getProperty(
+                "org.apache.webbeans.spi.deployer.lazyInitialization.warmup", "true"));
+        interceptorResolutionIndex = new InterceptorResolutionIndex(this.webBeansContext);
 
         defaultBeanArchiveInformation = new DefaultBeanArchiveInformation("default");
         defaultBeanArchiveInformation.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
     }
 
+    private void startPhase(String name)
+    {
+        if (deploymentReport != null)
+        {
+            deploymentReport.startPhase(name);
+        }
+    }
+
     /**
      * Deploys all the defined web beans components in the container startup.
      * <p>
@@ -214,7 +250,15 @@ public class BeansDeployer
         {
             if (!deployed)
             {                
+                if (Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration().getProperty(DeploymentReport.ENABLED)))
+                {
+                    deploymentReport = new DeploymentReport(
+                            webBeansContext.getOpenWebBeansConfiguration().getProperty(DeploymentReport.FILE));
+                    webBeansContext.getNotificationManager().setDeploymentReport(deploymentReport);
+                }
+
                 //Load Extensions
+                startPhase("extensions");
                 webBeansContext.getExtensionLoader().loadExtensionServices();
 
                 // Bind manager
@@ -241,11 +285,13 @@ public class BeansDeployer
                         javax.interceptor.Interceptor.Priority.PLATFORM_BEFORE + 100);
 
                 //Fire Event
+                startPhase("beforeBeanDiscovery");
                 fireBeforeBeanDiscoveryEvent();
                 
                 //Configure Default Beans
                 configureDefaultBeans();
 
+                startPhase("typeDiscovery");
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
@@ -263,8 +309,10 @@ public class BeansDeployer
                 // Also configures deployments, interceptors, decorators.
                 deployFromXML(scanner);
 
+                startPhase("afterTypeDiscovery");
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
 
+                startPhase("beanDiscovery");
 
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
                     = getBeanAttributes(annotatedTypesPerBda);
@@ -311,11 +359,13 @@ public class BeansDeployer
                 removeDisabledBeans();
                 
                 // We are finally done with our bean discovery
+                startPhase("afterBeanDiscovery");
                 fireAfterBeanDiscoveryEvent();
 
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
 
+                startPhase("validation");
                 if (!skipValidations)
                 {
                     validateAlternatives(beanAttributesPerBda);
@@ -368,7 +418,7 @@ public class BeansDeployer
                                     annotatedType = webBeansContext.getAnnotatedElementFactory()
                                             .newAnnotatedType(owbBean.getReturnType());
                                 }
-                                producer.defineInterceptorStack(owbBean, annotatedType, webBeansContext);
+                                defineInterceptorStack(producer, (Bean) owbBean, (AnnotatedType) annotatedType);
                             }
                         }
                     });
@@ -383,7 +433,20 @@ public class BeansDeployer
                 }
 
                 // fire event
+                startPhase("afterDeploymentValidation");
                 fireAfterDeploymentValidationEvent();
+                webBeansContext.getBeanManagerImpl().buildRuntimeRegistry();
+
+                interceptorResolutionIndex.afterDeployment();
+
+                if (!deferredProducers.isEmpty())
+                {
+                    if (lazyInitializationWarmup)
+                    {
+                        startWarmup(new ArrayList<>(deferredProducers));
+                    }
+                    deferredProducers.clear();
+                }
 
 
                 // do some cleanup after the deployment
@@ -411,6 +474,14 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            if (deploymentReport != null)
+            {
+                // also published for a failed deployment, it shows how far it went
+                deploymentReport.finish();
+                webBeansContext.getNotificationManager().setDeploymentReport(null);
+                deploymentReport = null;
+            }
         }
     }
 
@@ -1207,7 +1278,7 @@ public class BeansDeployer
                             {
                                 annotatedType = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(owbBean.getReturnType());
                             }
-                            producer.defineInterceptorStack(owbBean, annotatedType, webBeansContext);
+                            defineInterceptorStack(producer, owbBean, annotatedType);
                         }
                     }
 
@@ -1238,6 +1309,88 @@ public class BeansDeployer
         
     }
     
+    private <T> void defineInterceptorStack(AbstractProducer<T> producer, Bean<T> bean, AnnotatedType<T> annotatedType)
+    {
+        // the index is per class so only managed beans, their types and qualifiers only depend on the class
+        boolean indexable = producer instanceof InjectionTargetImpl && bean instanceof InjectionTargetBean;
+        if (indexable && interceptorResolutionIndex.isNotIntercepted(annotatedType))
+        {
+            producer.defineInterceptorStack(bean, annotatedType, webBeansContext, interceptorResolutionIndex.notInterceptedInfo());
+        }
+        else if (lazyInitialization)
+        {
+            producer.deferInterceptorStack(bean, annotatedType, webBeansContext);
+            deferredProducers.add(producer);
+        }
+        else
+        {
+            producer.defineInterceptorStack(bean, annotatedType, webBeansContext);
+            if (indexable)
+            {
+                interceptorResolutionIndex.record(annotatedType, producer.getInterceptorInfo());
+            }
+        }
+    }
+
+    /**
+     * Defines the deferred interceptor stacks in background to not pay them on the first requests.
+     * A failure is only logged, it is thrown again on the first usage of the bean.
+     */
+    private void startWarmup(List<AbstractProducer<?>> producers)
+    {
+        Thread thread = new Thread(() ->
+        {
+            for (AbstractProducer<?> producer : producers)
+            {
+                if (shutdown || Thread.currentThread().isInterrupted())
+                {
+                    logger.fine("Lazy initialization warmup stopped by the container shutdown");
+                    return;
+                }
+                try
+                {
+                    producer.ensureInterceptorStack();
+                }
+                catch (RuntimeException e)
+                {
+                    if (!shutdown)
+                    {
+                        logger.log(Level.WARNING, "Can't define the interceptor stack of " + producer, e);
+                    }
+                }
+            }
+            logger.fine("Lazy initialization warmup done for " + producers.size() + " beans");
+        }, "OpenWebBeans-lazy-initialization-warmup");
+        thread.setDaemon(true);
+        thread.setContextClassLoader(WebBeansUtil.getCurrentClassLoader());
+        warmup = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the background work of the deployment, invoked when the container shuts down.
+     */
+    public void shutdown()
+    {
+        shutdown = true;
+
+        Thread thread = warmup;
+        if (thread != null)
+        {
+            warmup = null;
+            thread.interrupt();
+            try
+            {
+                // the bean currently getting defined finishes, the remaining ones are skipped
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
     {
         for (ObserverMethod<?> observerMethod: observerMethods)
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Records how long each phase of the deployment and each extension observer method took,
+ * and how much the deploying thread allocated meanwhile.
+ *
+ * Once the deployment is done a summary gets logged and the full report gets written as JSON,
+ * either to the file configured with {@link #FILE} or to the log at FINE level.
+ * The allocations are only available on JVMs providing {@code com.sun.management.ThreadMXBean},
+ * work done by other threads, e.g. the parallel archive scanning, is not included.
+ */
+public class DeploymentReport
+{
+    /**
+     * Set to true to record the deployment report.
+     */
+    public static final String ENABLED = "org.apache.webbeans.deployment.report";
+
+    /**
+     * Optional path of the file the JSON report gets written to.
+     */
+    public static final String FILE = "org.apache.webbeans.deployment.report.file";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(DeploymentReport.class);
+
+    private static final int SLOWEST_OBSERVERS_IN_SUMMARY = 3;
+
+    /**
+     * Checked without loading {@link ThreadAllocation}, so JVMs and OSGi containers
+     * without {@code com.sun.management} simply get no allocations.
+     */
+    private static final boolean ALLOCATION_API_AVAILABLE = isAllocationApiAvailable();
+
+    private final ThreadMXBean threadMXBean;
+    private final String file;
+
+    private final long start;
+    private final long startAllocated;
+
+    private final Map<String, Entry> phases = new LinkedHashMap<>();
+    private final Map<String, Entry> observers = new LinkedHashMap<>();
+
+    private String currentPhase;
+    private long phaseStart;
+    private long phaseStartAllocated;
+
+    private long total;
+    private long totalAllocated;
+
+    public DeploymentReport(String file)
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threadMXBean = ALLOCATION_API_AVAILABLE && ThreadAllocation.isSupported(bean) ? bean : null;
+        this.file = file;
+        start = System.nanoTime();
+        startAllocated = allocatedBytes();
+    }
+
+    /**
+     * Ends the current phase, if any, and starts the given one.
+     */
+    public void startPhase(String name)
+    {
+        endPhase();
+        currentPhase = name;
+        phaseStart = System.nanoTime();
+        phaseStartAllocated = allocatedBytes();
+    }
+
+    public void endPhase()
+    {
+        if (currentPhase != null)
+        {
+            phases.computeIfAbsent(currentPhase, n -> new Entry())
+                .add(System.nanoTime() - phaseStart, allocatedBytes() - phaseStartAllocated);
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * @return the token to hand over to {@link #observerInvoked(ObserverMethod, Object, long[])}
+     */
+    public long[] startObserver()
+    {
+        return new long[]{System.nanoTime(), allocatedBytes()};
+    }
+
+    public synchronized void observerInvoked(ObserverMethod<?> observer, Object event, long[] token)
+    {
+        long nanos = System.nanoTime() - token[0];
+        long allocated = allocatedBytes() - token[1];
+        observers.computeIfAbsent(observerName(observer) + "(" + event.getClass().getSimpleName() + ")", n -> new Entry())
+            .add(nanos, allocated);
+    }
+
+    /**
+     * Ends the deployment and publishes the report.
+     */
+    public void finish()
+    {
+        endPhase();
+        total = System.nanoTime() - start;
+        totalAllocated = allocatedBytes() - startAllocated;
+
+        logger.info(summary());
+
+        String json = toJson();
+        if (file == null || file.isEmpty())
+        {
+            logger.fine(json);
+            return;
+        }
+        Path path = Paths.get(file);
+        try
+        {
+            if (path.getParent() != null)
+            {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+            {
+                writer.write(json);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Unable to write the deployment report to " + path, e);
+        }
+    }
+
+    String summary()
+    {
+        StringBuilder summary = new StringBuilder("Deployment took ").append(millis(total)).append(" ms");
+        String separator = ": ";
+        for (Map.Entry<String, Entry> phase : phases.entrySet())
+        {
+            summary.append(separator).append(phase.getKey()).append(' ').append(millis(phase.getValue().nanos)).append(" ms");
+            separator = ", ";
+        }
+        List<Map.Entry<String, Entry>> slowest = sortedObservers();
+        if (!slowest.isEmpty())
+        {
+            summary.append(". Slowest extension observers");
+            separator = ": ";
+            for (Map.Entry<String, Entry> observer : slowest.subList(0, Math.min(SLOWEST_OBSERVERS_IN_SUMMARY, slowest.size())))
+            {
+                summary.append(separator).append(observer.getKey()).append(' ').append(millis(observer.getValue().nanos)).append(" ms");
+                separator = ", ";
+            }
+        }
+        return summary.toString();
+    }
+
+    String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n  \"totalMillis\": ").append(millis(total));
+        if (threadMXBean != null)
+        {
+            json.append(",\n  \"totalAllocatedBytes\": ").append(totalAllocated);
+        }
+        json.append(",\n  \"phases\": [");
+        appendEntries(json, new ArrayList<>(phases.entrySet()));
+        json.append("],\n  \"extensionObservers\": [");
+        appendEntries(json, sortedObservers());
+        json.append("]\n}\n");
+        return json.toString();
+    }
+
+    private void appendEntries(StringBuilder json, List<Map.Entry<String, Entry>> entries)
+    {
+        String separator = "\n    ";
+        for (Map.Entry<String, Entry> entry : entries)
+        {
+            json.append(separator).append("{\"name\": \"");
+            escape(json, entry.getKey());
+            json.append("\", \"count\": ").append(entry.getValue().count)
+                .append(", \"millis\": ").append(millis(entry.getValue().nanos));
+            if (threadMXBean != null)
+            {
+                json.append(", \"allocatedBytes\": ").append(entry.getValue().allocated);
+            }
+            json.append('}');
+            separator = ",\n    ";
+        }
+        if (!entries.isEmpty())
+        {
+            json.append("\n  ");
+        }
+    }
+
+    private synchronized List<Map.Entry<String, Entry>> sortedObservers()
+    {
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(observers.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().nanos).reversed());
+        return sorted;
+    }
+
+    private long allocatedBytes()
+    {
+        return threadMXBean == null ? 0 : ThreadAllocation.allocatedBytes(threadMXBean);
+    }
+
+    private static boolean isAllocationApiAvailable()
+    {
+        try
+        {
+            Class.forName("com.sun.management.ThreadMXBean", false, DeploymentReport.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+
+    private static String observerName(ObserverMethod<?> observer)
+    {
+        if (observer instanceof ObserverMethodImpl)
+        {
+            Method method = ((ObserverMethodImpl<?>) observer).getObserverMethod().getJavaMember();
+            return method.getDeclaringClass().getName() + "#" + method.getName();
+        }
+        return observer.getBeanClass().getName();
+    }
+
+    private static String millis(long nanos)
+    {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0);
+    }
+
+    private static void escape(StringBuilder json, String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+    }
+
+    /**
+     * The only place referencing {@code com.sun.management}, only loaded once the API is known to be there.
+     */
+    private static final class ThreadAllocation
+    {
+        private ThreadAllocation()
+        {
+            // no instantiation
+        }
+
+        private static boolean isSupported(ThreadMXBean bean)
+        {
+            return bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+        }
+
+        private static long allocatedBytes(ThreadMXBean bean)
+        {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    private static final class Entry
+    {
+        private int count;
+        private long nanos;
+        private long allocated;
+
+        private void add(long nanos, long allocated)
+        {
+            count++;
+            this.nanos += nanos;
+            this.allocated += allocated;
+        }
+    }
+}
@@ -182,6 +182,11 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_EXTENSION_JARS = "org.apache.webbeans.scanExtensionJars";
 
+    /**
+     * Number of threads reading the scanned archives, {@code 1} (default) reads them sequentially.
+     */
+    public static final String SCANNER_PARALLELISM = "org.apache.webbeans.scanner.parallelism";
+
     /**
      * By default we do _not_ force session creation in our WebBeansConfigurationListener. We only create the
      * Session if we really need the SessionContext. E.g. when we create a Contextual Instance in it.
@@ -50,6 +50,7 @@ import org.apache.webbeans.inject.impl.InjectionPointFactory;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.intercept.InterceptorUtil;
 import org.apache.webbeans.intercept.InterceptorsManager;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.plugins.PluginLoader;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
@@ -59,11 +60,15 @@ import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.service.DefaultInjectionPointService;
 import org.apache.webbeans.service.DefaultLoaderService;
+import org.apache.webbeans.service.DefaultPassivationCodecService;
+import org.apache.webbeans.service.NoopMetricsService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.ApplicationBoundaryService;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.spi.PassivationCodecService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
@@ -119,6 +124,10 @@ public class WebBeansContext
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
     private TransactionService transactionService;
+    private PassivationCodecService passivationCodecService;
+    private final MetricsService metricsService;
+    private final boolean metricsEnabled;
+    private final boolean flightRecorderEnabled;
 
 
     public WebBeansContext()
@@ -167,6 +176,23 @@ public class WebBeansContext
         securityService = getService(SecurityService.class);
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
 
+        MetricsService metrics = getService(MetricsService.class);
+        if (metrics == null)
+        {
+            metrics = new NoopMetricsService();
+            registerService(MetricsService.class, metrics);
+        }
+        metricsService = metrics;
+        metricsEnabled = metrics.isEnabled();
+        boolean flightRecorder = Boolean.parseBoolean(this.openWebBeansConfiguration.getProperty(FlightRecorderEvents.ENABLED));
+        if (flightRecorder && !FlightRecorderEvents.isAvailable())
+        {
+            WebBeansLoggerFacade.getLogger(WebBeansContext.class)
+                    .warning(FlightRecorderEvents.ENABLED + " is set but this JVM does not provide jdk.jfr, no events get recorded");
+            flightRecorder = false;
+        }
+        flightRecorderEnabled = flightRecorder;
+
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
         normalScopeProxyFactory = new NormalScopeProxyFactory(this);
         subclassProxyFactory = new SubclassProxyFactory(this);
@@ -369,6 +395,42 @@ public class WebBeansContext
         return transactionService;
     }
 
+    public PassivationCodecService getPassivationCodecService()
+    {
+        if (passivationCodecService == null)
+        {
+            PassivationCodecService service = getService(PassivationCodecService.class);
+            if (service == null)
+            {
+                service = new DefaultPassivationCodecService();
+                registerService(PassivationCodecService.class, service);
+            }
+            passivationCodecService = service;
+        }
+        return passivationCodecService;
+    }
+
+    /**
+     * Callers shall only report to the service if {@link #isMetricsEnabled()}.
+     */
+    public MetricsService getMetricsService()
+    {
+        return metricsService;
+    }
+
+    public boolean isMetricsEnabled() // checked on hot paths, keep it a plain getter
+    {
+        return metricsEnabled;
+    }
+
+    /**
+     * Callers shall only begin {@link FlightRecorderEvents} if this is true.
+     */
+    public boolean isFlightRecorderEnabled() // checked on hot paths, keep it a plain getter
+    {
+        return flightRecorderEnabled;
+    }
+
     public ScannerService getScannerService()
     {
         if (scannerService == null)
@@ -445,6 +507,10 @@ public class WebBeansContext
         {
             return new DefaultConversationService();
         }
+        if (NoopMetricsService.class.getName().equals(singletonName))
+        {
+            return new NoopMetricsService();
+        }
 
         // Load class by reflection
         Class<?> clazz = ClassUtil.getClassFromName(singletonName);
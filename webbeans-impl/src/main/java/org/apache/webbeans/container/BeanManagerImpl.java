@@ -33,14 +33,15 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
-import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.NormalScope;
+import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
@@ -52,7 +53,6 @@ import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Stereotype;
 import javax.enterprise.inject.Vetoed;
 import javax.enterprise.inject.spi.*;
-import javax.inject.Scope;
 import javax.interceptor.InterceptorBinding;
 import javax.naming.NamingException;
 import javax.naming.Reference;
@@ -61,6 +61,7 @@ import javax.naming.StringRefAddr;
 
 import org.apache.webbeans.annotation.AnyLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
+import org.apache.webbeans.annotation.MetaAnnotationIndex;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.CdiInterceptorBean;
@@ -81,6 +82,8 @@ import org.apache.webbeans.component.creation.MethodProducerFactory;
 import org.apache.webbeans.component.third.PassivationCapableThirdpartyBeanImpl;
 import org.apache.webbeans.component.third.ThirdpartyBeanImpl;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.context.ContextAccessor;
 import org.apache.webbeans.context.CustomAlterablePassivatingContextImpl;
 import org.apache.webbeans.context.CustomPassivatingContextImpl;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
@@ -98,6 +101,7 @@ import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -125,25 +129,46 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     /**
      * Holds the non-standard contexts with key = scope type
      * This will get used if more than 1 scope exists.
-     * Since the contexts will only get added through the
-     * {@link org.apache.webbeans.portable.events.discovery.AfterBeanDiscoveryImpl}
-     * we don't even need a ConcurrentHashMap.
+     * Contexts can also get added at runtime, so the map gets copied on write
+     * and readers never lock.
      * @see #singleContextMap
      */
-    private Map<Class<? extends Annotation>, List<Context>> contextMap = new HashMap<>();
+    private volatile Map<Class<? extends Annotation>, List<Context>> contextMap = Collections.emptyMap();
 
     /**
      * This will hold non-standard contexts where only one Context implementation got registered
      * for the given key = scope type
-     * Since the contexts will only get added through the
-     * {@link org.apache.webbeans.portable.events.discovery.AfterBeanDiscoveryImpl}
-     * we don't even need a ConcurrentHashMap.
+     * Copied on write like the {@link #contextMap}.
      * @see #contextMap
      */
-    private Map<Class<? extends Annotation>, Context> singleContextMap = new HashMap<>();
+    private volatile Map<Class<? extends Annotation>, Context> singleContextMap = Collections.emptyMap();
 
-    /**Deployment archive beans*/
-    private Set<Bean<?>> deploymentBeans = new HashSet<>();
+    /**
+     * Dispatch table from a scope type to the accessor of its active context.
+     * Filled lazily and copied on write, accessors are updated in place when custom contexts get added.
+     * @see #getContextAccessor(Class)
+     */
+    private volatile Map<Class<? extends Annotation>, ContextAccessor> contextAccessors = Collections.emptyMap();
+
+    /**
+     * Deployment archive beans.
+     * Modified in place during the boot, once the container is deployed beans added at runtime
+     * replace the set by a copy so resolutions running concurrently keep iterating a consistent snapshot.
+     */
+    private volatile Set<Bean<?>> deploymentBeans = new HashSet<>();
+
+    /**
+     * Read only view of the {@link #deploymentBeans} for the resolutions at runtime,
+     * {@code null} until the deployment got validated.
+     */
+    private volatile RuntimeRegistry runtimeRegistry;
+
+    /**
+     * Dense slot indexes of the request scoped beans.
+     * The proxies cache their contextual instances under these slots on the RequestContext.
+     * @see #getRequestScopedSlot(Bean)
+     */
+    private final Map<Bean<?>, Integer> requestScopedSlots = new ConcurrentHashMap<>();
 
     /**Normal scoped cache proxies*/
     private Map<Contextual<?>, Object> cacheProxies = new ConcurrentHashMap<>();
@@ -207,7 +232,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
      * This flag will get set to {@code true} after the
      * {@link javax.enterprise.inject.spi.AfterDeploymentValidation} gets fired
      */
-    private boolean afterDeploymentValidationFired;
+    private volatile boolean afterDeploymentValidationFired;
 
     /**
      * we cache results of calls to {@link #isNormalScope(Class)} because
@@ -221,7 +246,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     /**
      * Map to be able to lookup always 3rd party beans when user does lookups with custom beans.
      */
-    private Map<Bean<?>, Bean<?>> thirdPartyMapping = new HashMap<>();
+    private Map<Bean<?>, Bean<?>> thirdPartyMapping = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link BeanManager} instance.
@@ -273,7 +298,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
      * Gets the active context for the given scope type.
      *
      * @param scopeType scope type of the context
-     * @throws ContextNotActiveException if no active context
+     * @throws javax.enterprise.context.ContextNotActiveException if no active context
      * @throws IllegalStateException if more than one active context
      */
     @Override
@@ -281,55 +306,65 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         Asserts.assertNotNull(scopeType, "scopeType");
 
-        Context standardContext = webBeansContext.getContextsService().getCurrentContext(scopeType);
+        return getContextAccessor(scopeType).get();
+    }
 
-        if(standardContext != null && standardContext.isActive())
+    /**
+     * Gets the accessor resolving the active context of the given scope type.
+     * The accessor stays valid for the lifetime of this BeanManager, so callers like
+     * the normal scoped proxies can keep it instead of looking up the context each time.
+     *
+     * @param scopeType scope type of the context
+     */
+    public ContextAccessor getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        ContextAccessor accessor = contextAccessors.get(scopeType);
+        if (accessor == null)
         {
-            return standardContext;
+            accessor = createContextAccessor(scopeType);
         }
+        return accessor;
+    }
 
-        // this is by far the most case
-        Context singleContext = singleContextMap.get(scopeType);
-        if (singleContext != null)
+    private synchronized ContextAccessor createContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        ContextAccessor accessor = contextAccessors.get(scopeType);
+        if (accessor != null)
         {
-            if (!singleContext.isActive())
-            {
-                throw new ContextNotActiveException("WebBeans context with scope type annotation @"
-                                                    + scopeType.getSimpleName()
-                                                    + " does not exist within current thread");
-            }
-            return singleContext;
+            return accessor;
         }
 
-        // the spec also allows for multiple contexts existing for the same scope type
-        // but in this case only one must be active at a time (for the current thread)
-        List<Context> others = contextMap.get(scopeType);
-        Context found = null;
-
-        if(others != null)
+        ContextsService contextsService = webBeansContext.getContextsService();
+        Supplier<Context> standardContext;
+        if (contextsService instanceof AbstractContextsService)
         {
-            for(Context otherContext : others)
-            {
-                if(otherContext.isActive())
-                {
-                    if (found != null)
-                    {
-                        throw new IllegalStateException("More than one active context exists with scope type annotation @"
-                                                        + scopeType.getSimpleName());
-                    }
-
-                    found = otherContext;
-                }
-            }
+            standardContext = ((AbstractContextsService) contextsService).getCurrentContextSupplier(scopeType);
         }
+        else
+        {
+            standardContext = () -> contextsService.getCurrentContext(scopeType);
+        }
+
+        accessor = new ContextAccessor(scopeType, standardContext);
+        accessor.setCustomContexts(getCustomContexts(scopeType));
+
+        Map<Class<? extends Annotation>, ContextAccessor> accessors = new HashMap<>(contextAccessors);
+        accessors.put(scopeType, accessor);
+        contextAccessors = accessors;
 
-        if (found == null)
+        return accessor;
+    }
+
+    private List<Context> getCustomContexts(Class<? extends Annotation> scopeType)
+    {
+        Context singleContext = singleContextMap.get(scopeType);
+        if (singleContext != null)
         {
-            throw new ContextNotActiveException("WebBeans context with scope type annotation @"
-                                                + scopeType.getSimpleName() + " does not exist within current thread");
+            return Collections.singletonList(singleContext);
         }
 
-        return found;
+        List<Context> contexts = contextMap.get(scopeType);
+        return contexts != null ? contexts : Collections.emptyList();
     }
 
     @Override
@@ -362,7 +397,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         if(newBean instanceof AbstractOwbBean)
         {
             addPassivationInfo(newBean);
-            deploymentBeans.add(newBean);
+            addDeploymentBean(newBean);
         }
         else
         {
@@ -376,13 +411,35 @@ public class BeanManagerImpl implements BeanManager, Referenceable
                 bean = new PassivationCapableThirdpartyBeanImpl<>(webBeansContext, newBean);
             }
             addPassivationInfo(bean);
-            deploymentBeans.add(bean);
             thirdPartyMapping.put(newBean, bean);
+            addDeploymentBean(bean);
         }
 
         return this;
     }
 
+    private void addDeploymentBean(Bean<?> bean)
+    {
+        if (!afterDeploymentValidationFired)
+        {
+            deploymentBeans.add(bean);
+            return;
+        }
+
+        synchronized (this)
+        {
+            Set<Bean<?>> beans = new HashSet<>(deploymentBeans);
+            beans.add(bean);
+            deploymentBeans = beans;
+            if (runtimeRegistry != null)
+            {
+                runtimeRegistry = new RuntimeRegistry(beans);
+            }
+        }
+        // only after the new beans got published, resolutions still running fill the dropped caches
+        injectionResolver.invalidateResolvedBeans();
+    }
+
 
     /**
      * Check if the bean is has a passivation id and add it to the id store.
@@ -528,7 +585,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         webBeansContext.getAnnotationManager().checkInterceptorResolverParams(interceptorBindings);
 
-        return webBeansContext.getInterceptorsManager().resolveInterceptors(type, interceptorBindings);
+        // the resolution is cached and shared, give the caller its own copy
+        return new ArrayList<>(webBeansContext.getInterceptorsManager().resolveInterceptors(type, interceptorBindings));
     }
 
 
@@ -537,7 +595,53 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return deploymentBeans;
     }
 
-    private void addContext(Class<? extends Annotation> scopeType, javax.enterprise.context.spi.Context context)
+    /**
+     * Builds the {@link RuntimeRegistry} once the set of beans is final.
+     * Beans added later on rebuild it.
+     */
+    public synchronized void buildRuntimeRegistry()
+    {
+        runtimeRegistry = new RuntimeRegistry(deploymentBeans);
+        injectionResolver.invalidateResolvedBeans();
+
+        // number the request scoped beans upfront, so the slots of the deployment stay dense
+        for (Bean<?> bean : runtimeRegistry.getBeans())
+        {
+            if (RequestScoped.class.equals(bean.getScope()))
+            {
+                getRequestScopedSlot(bean);
+            }
+        }
+    }
+
+    /**
+     * @return the dense index of the given bean in the instance cache of the RequestContext,
+     *         beans which got no slot during the deployment get the next free one
+     */
+    public int getRequestScopedSlot(Bean<?> bean)
+    {
+        Integer slot = requestScopedSlots.get(bean);
+        if (slot == null)
+        {
+            synchronized (requestScopedSlots)
+            {
+                slot = requestScopedSlots.get(bean);
+                if (slot == null)
+                {
+                    slot = requestScopedSlots.size();
+                    requestScopedSlots.put(bean, slot);
+                }
+            }
+        }
+        return slot;
+    }
+
+    RuntimeRegistry getRuntimeRegistry()
+    {
+        return runtimeRegistry;
+    }
+
+    private synchronized void addContext(Class<? extends Annotation> scopeType, javax.enterprise.context.spi.Context context)
     {
         Asserts.assertNotNull(scopeType, "scopeType");
         Asserts.assertNotNull(context, "context");
@@ -547,10 +651,11 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         if(contextList == null)
         {
             Context singleContext = singleContextMap.get(scopeType);
+            Map<Class<? extends Annotation>, Context> singleContexts = new HashMap<>(singleContextMap);
             if (singleContext == null)
             {
                 // first put them into the singleContextMap
-                singleContextMap.put(scopeType, context);
+                singleContexts.put(scopeType, context);
             }
             else
             {
@@ -559,15 +664,29 @@ public class BeanManagerImpl implements BeanManager, Referenceable
                 contextList.add(singleContext);
                 contextList.add(context);
 
-                contextMap.put(scopeType, contextList);
-                singleContextMap.remove(scopeType);
+                Map<Class<? extends Annotation>, List<Context>> contexts = new HashMap<>(contextMap);
+                contexts.put(scopeType, Collections.unmodifiableList(contextList));
+                // publish the list before the single context disappears
+                contextMap = contexts;
+                singleContexts.remove(scopeType);
             }
+            singleContextMap = singleContexts;
         }
         else
         {
-            contextList.add(context);
+            List<Context> contexts = new ArrayList<>(contextList);
+            contexts.add(context);
+
+            Map<Class<? extends Annotation>, List<Context>> newContextMap = new HashMap<>(contextMap);
+            newContextMap.put(scopeType, Collections.unmodifiableList(contexts));
+            contextMap = newContextMap;
         }
 
+        ContextAccessor accessor = contextAccessors.get(scopeType);
+        if (accessor != null)
+        {
+            accessor.setCustomContexts(getCustomContexts(scopeType));
+        }
     }
 
     @Override
@@ -1034,8 +1153,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             return true;
         }
 
-        boolean isScopeAnnotation = annotationType.getAnnotation(Scope.class) != null ||
-                annotationType.getAnnotation(NormalScope.class) != null;
+        boolean isScopeAnnotation = webBeansContext.getAnnotationManager().getMetaAnnotationIndex()
+                .is(annotationType, MetaAnnotationIndex.ANY_SCOPE);
 
         if (!isScopeAnnotation)
         {
@@ -1081,7 +1200,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             }
         }
 
-        isNormal = scopeType.getAnnotation(NormalScope.class) != null;
+        isNormal = webBeansContext.getAnnotationManager().getMetaAnnotationIndex().is(scopeType, MetaAnnotationIndex.NORMAL_SCOPE);
         isScopeTypeNormalCache.put(scopeType, isNormal);
 
         return isNormal;
@@ -1098,11 +1217,9 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             }
         }
 
-        NormalScope scope = annotationType.getAnnotation(NormalScope.class);
-
-        if(scope != null)
+        if (webBeansContext.getAnnotationManager().getMetaAnnotationIndex().is(annotationType, MetaAnnotationIndex.NORMAL_SCOPE))
         {
-            return scope.passivating();
+            return annotationType.getAnnotation(NormalScope.class).passivating();
         }
 
         return false;
@@ -1112,7 +1229,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     @Override
     public boolean isStereotype(Class<? extends Annotation> annotationType)
     {
-        return AnnotationUtil.hasAnnotation(annotationType.getDeclaredAnnotations(), Stereotype.class);
+        return webBeansContext.getAnnotationManager().getMetaAnnotationIndex().is(annotationType, MetaAnnotationIndex.STEREOTYPE);
     }
 
     public boolean areInterceptorBindingsEquivalent(Annotation annotation1, Annotation annotation2)
@@ -1463,9 +1580,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         scopeAnnotations.clear();
         nonscopeAnnotations.clear();
         clearCacheProxies();
-        singleContextMap.clear();
-        contextMap.clear();
+        singleContextMap = Collections.emptyMap();
+        contextMap = Collections.emptyMap();
+        contextAccessors = Collections.emptyMap();
         deploymentBeans.clear();
+        runtimeRegistry = null;
+        requestScopedSlots.clear();
         errorStack.clear();
         producersForJavaEeComponents.clear();
         passivationBeans.clear();
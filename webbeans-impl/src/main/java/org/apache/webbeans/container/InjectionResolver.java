@@ -53,6 +53,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -90,15 +91,19 @@ public class InjectionResolver
     /**
      * This Map contains all resolved beans via it's type and qualifiers.
      * If a bean have resolved as not existing, the entry will contain <code>null</code> as value.
-     * The Long key is a hashCode, see
-     * {@link BeanCacheKey#BeanCacheKey(boolean, Type, String, java.util.function.Function, Annotation...)}
+     * The key is a {@link BeanCacheKey} with qualifiers interned in {@link #qualifierSignatures}.
      */
-    private Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
+    private volatile Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the qualifiers used in {@link #resolvedBeansByType} keys.
+     */
+    private final QualifierSignatureTable qualifierSignatures = new QualifierSignatureTable(this::findQualifierModel);
 
     /**
      * This Map contains all resolved beans via it's ExpressionLanguage name.
      */
-    private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
+    private volatile Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
 
     /**
      * Whether the container is in startup mode.
@@ -143,6 +148,18 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        qualifierSignatures.clear();
+    }
+
+    /**
+     * Drops the resolved beans after beans got added at runtime.
+     * The caches get replaced instead of cleared: a resolution still running against
+     * the previous beans fills the map it started with, which is not used anymore.
+     */
+    public void invalidateResolvedBeans()
+    {
+        resolvedBeansByType = new ConcurrentHashMap<>();
+        resolvedBeansByName = new ConcurrentHashMap<>();
     }
 
     /**
@@ -367,7 +384,14 @@ public class InjectionResolver
     {
         Asserts.assertNotNull(name, "name parameter");
 
+        RuntimeRegistry registry = webBeansContext.getBeanManagerImpl().getRuntimeRegistry();
+        if (registry != null)
+        {
+            return registry.getBeansByName(name);
+        }
+
         String cacheKey = name;
+        Map<String, Set<Bean<?>>> resolvedBeansByName = this.resolvedBeansByName;
         Set<Bean<?>> resolvedComponents = resolvedBeansByName.get(cacheKey);
         if (resolvedComponents != null)
         {
@@ -460,15 +484,20 @@ public class InjectionResolver
 
         Set<Bean<?>> resolvedComponents;
         BeanCacheKey cacheKey = null;
+        Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = this.resolvedBeansByType;
 
         if (!startup)
         {
             // we only cache and validate once the set of Beans is final, otherwise we would cache crap
             validateInjectionPointType(injectionPointType);
 
-            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, this::findQualifierModel, qualifiers);
+            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, qualifierSignatures, qualifiers);
 
             resolvedComponents = resolvedBeansByType.get(cacheKey);
+            if (webBeansContext.isMetricsEnabled())
+            {
+                webBeansContext.getMetricsService().resolutionCacheLookup(resolvedComponents != null);
+            }
             if (resolvedComponents != null)
             {
                 return resolvedComponents;
@@ -479,7 +508,19 @@ public class InjectionResolver
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
 
-        for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
+        // once deployed only the beans having the raw type of the injection point need a check
+        Collection<Bean<?>> candidates = null;
+        RuntimeRegistry registry = webBeansContext.getBeanManagerImpl().getRuntimeRegistry();
+        if (registry != null)
+        {
+            candidates = returnAll ? registry.getBeans() : registry.getCandidates(injectionPointType);
+        }
+        if (candidates == null)
+        {
+            candidates = webBeansContext.getBeanManagerImpl().getBeans();
+        }
+
+        for (Bean<?> component : candidates)
         {
             // no need to check instanceof OwbBean as we always wrap in a
             // ThirdpartyBeanImpl at least
@@ -845,7 +886,7 @@ public class InjectionResolver
         return result;
     }
 
-    private AnnotatedType<? extends Annotation> findQualifierModel(final Class<?> qualifier)
+    private AnnotatedType<?> findQualifierModel(final Class<?> qualifier)
     {
         return webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier);
     }
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.util.Nonbinding;
+
+import org.apache.webbeans.util.AnnotationUtil;
+
+/**
+ * Maps each distinct qualifier to a small int.
+ * Two qualifiers get the same id if they are equal ignoring their {@link Nonbinding} members,
+ * so a {@link BeanCacheKey} only needs to compare ints.
+ *
+ * Ids are never reused, even after {@link #clear()}, so keys computed before clearing
+ * can never match a different qualifier.
+ */
+public final class QualifierSignatureTable
+{
+    private final Function<Class<?>, AnnotatedType<?>> qualifierModels;
+
+    /**
+     * Known signatures per qualifier type.
+     */
+    private final ConcurrentMap<Class<? extends Annotation>, QualifierType> qualifierTypes = new ConcurrentHashMap<>();
+
+    private int nextId;
+
+    /**
+     * @param qualifierModels provides the AnnotatedType of qualifiers added via
+     *                        {@link javax.enterprise.inject.spi.BeforeBeanDiscovery#addQualifier(AnnotatedType)}
+     *                        or returns {@code null}
+     */
+    public QualifierSignatureTable(Function<Class<?>, AnnotatedType<?>> qualifierModels)
+    {
+        this.qualifierModels = qualifierModels;
+    }
+
+    /**
+     * @param qualifier the qualifier to look up
+     * @return the id of the given qualifier
+     */
+    public int intern(Annotation qualifier)
+    {
+        QualifierType qualifierType = qualifierTypes.computeIfAbsent(qualifier.annotationType(),
+            type -> new QualifierType(type, qualifierModels != null ? qualifierModels.apply(type) : null));
+
+        int hash = qualifierType.hash(qualifier);
+        int id = qualifierType.find(hash, qualifier);
+        if (id >= 0)
+        {
+            return id;
+        }
+
+        synchronized (this)
+        {
+            id = qualifierType.find(hash, qualifier);
+            if (id >= 0)
+            {
+                return id;
+            }
+
+            Signature signature = new Signature(nextId++, qualifier);
+            qualifierType.add(hash, signature);
+            return signature.id;
+        }
+    }
+
+    /**
+     * Forget all known qualifiers.
+     */
+    public void clear()
+    {
+        qualifierTypes.clear();
+    }
+
+    /**
+     * The signatures of a qualifier type, bucketed by their CDI hash code
+     * so a lookup only compares the members of qualifiers with the same hash.
+     */
+    private static final class QualifierType
+    {
+        private final AnnotatedType<?> model;
+
+        /**
+         * {@code false} if all qualifier instances of this type are equal
+         */
+        private final boolean bindingMembers;
+
+        /**
+         * The arrays are copy on write.
+         */
+        private final ConcurrentMap<Integer, Signature[]> buckets = new ConcurrentHashMap<>();
+
+        private QualifierType(Class<? extends Annotation> qualifierType, AnnotatedType<?> model)
+        {
+            this.model = model;
+            bindingMembers = hasBindingMembers(qualifierType, model);
+        }
+
+        private int hash(Annotation qualifier)
+        {
+            if (!bindingMembers)
+            {
+                return 0;
+            }
+            return model == null
+                ? AnnotationUtil.getCdiAnnotationHashCode(qualifier)
+                : AnnotationUtil.getCdiAnnotationHashCode(model, qualifier);
+        }
+
+        private int find(int hash, Annotation qualifier)
+        {
+            Signature[] known = buckets.get(hash);
+            if (known != null)
+            {
+                for (Signature signature : known)
+                {
+                    if (matches(signature.qualifier, qualifier))
+                    {
+                        return signature.id;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private void add(int hash, Signature signature)
+        {
+            Signature[] known = buckets.get(hash);
+            if (known == null)
+            {
+                known = new Signature[] { signature };
+            }
+            else
+            {
+                known = Arrays.copyOf(known, known.length + 1);
+                known[known.length - 1] = signature;
+            }
+            buckets.put(hash, known);
+        }
+
+        private boolean matches(Annotation qualifier, Annotation other)
+        {
+            if (other == qualifier || !bindingMembers)
+            {
+                return true;
+            }
+            if (model == null)
+            {
+                return AnnotationUtil.isCdiAnnotationEqual(qualifier, other);
+            }
+            return AnnotationUtil.isCdiAnnotationEqual(model, qualifier, other);
+        }
+
+        private static boolean hasBindingMembers(Class<? extends Annotation> qualifierType, AnnotatedType<?> model)
+        {
+            if (model != null)
+            {
+                for (AnnotatedMethod<?> method : model.getMethods())
+                {
+                    if (!method.isAnnotationPresent(Nonbinding.class))
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            for (Method method : qualifierType.getDeclaredMethods())
+            {
+                if (!method.isAnnotationPresent(Nonbinding.class))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Signature
+    {
+        private final int id;
+        private final Annotation qualifier;
+
+        private Signature(int id, Annotation qualifier)
+        {
+            this.id = id;
+            this.qualifier = qualifier;
+        }
+    }
+}
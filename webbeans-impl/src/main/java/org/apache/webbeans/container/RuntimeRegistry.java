@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.util.ClassUtil;
+
+/**
+ * Immutable view of the enabled beans, built once the deployment is validated.
+ *
+ * Resolutions by type only have to check the beans which have a bean type with the raw class
+ * of the injection point, instead of all beans. Beans with a type variable, wildcard or generic
+ * array bean type can match any injection point and are part of every lookup.
+ * Beans added at runtime produce a new registry, the existing one is never modified.
+ */
+final class RuntimeRegistry
+{
+    private final List<Bean<?>> beans;
+
+    /**
+     * Candidate beans per raw bean type, primitives are stored under their wrapper.
+     */
+    private final Map<Class<?>, List<Bean<?>>> beansByRawType;
+
+    /**
+     * Beans which can match any injection point type.
+     */
+    private final List<Bean<?>> untypedBeans;
+
+    private final Map<String, Set<Bean<?>>> beansByName;
+
+    RuntimeRegistry(Collection<Bean<?>> deploymentBeans)
+    {
+        List<Bean<?>> enabled = new ArrayList<>(deploymentBeans.size());
+        List<Bean<?>> untyped = new ArrayList<>();
+        Map<Class<?>, Set<Bean<?>>> byRawType = new HashMap<>();
+        Map<String, Set<Bean<?>>> byName = new HashMap<>();
+
+        for (Bean<?> bean : deploymentBeans)
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled())
+            {
+                continue;
+            }
+            enabled.add(bean);
+
+            boolean indexed = true;
+            for (Type type : bean.getTypes())
+            {
+                Class<?> rawType = getRawType(type);
+                if (rawType == null)
+                {
+                    indexed = false;
+                    continue;
+                }
+                byRawType.computeIfAbsent(rawType, k -> new LinkedHashSet<>()).add(bean);
+            }
+            if (!indexed)
+            {
+                untyped.add(bean);
+            }
+
+            if (bean.getName() != null)
+            {
+                byName.computeIfAbsent(bean.getName(), k -> new LinkedHashSet<>()).add(bean);
+            }
+        }
+
+        beans = toList(enabled);
+        untypedBeans = toList(untyped);
+
+        beansByRawType = new HashMap<>(byRawType.size() * 4 / 3 + 1);
+        for (Map.Entry<Class<?>, Set<Bean<?>>> entry : byRawType.entrySet())
+        {
+            Set<Bean<?>> candidates = entry.getValue();
+            candidates.addAll(untyped);
+            beansByRawType.put(entry.getKey(), toList(candidates));
+        }
+
+        beansByName = new HashMap<>(byName.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Set<Bean<?>>> entry : byName.entrySet())
+        {
+            beansByName.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+    }
+
+    /**
+     * @return all enabled beans
+     */
+    List<Bean<?>> getBeans()
+    {
+        return beans;
+    }
+
+    /**
+     * @return the beans which might satisfy the given injection point type,
+     *         or {@code null} if the type can't be looked up and all beans need to be checked
+     */
+    List<Bean<?>> getCandidates(Type injectionPointType)
+    {
+        Class<?> rawType = getRawType(injectionPointType);
+        if (rawType == null)
+        {
+            return null;
+        }
+        List<Bean<?>> candidates = beansByRawType.get(rawType);
+        return candidates != null ? candidates : untypedBeans;
+    }
+
+    /**
+     * @return the beans with the given EL name, empty if there is none
+     */
+    Set<Bean<?>> getBeansByName(String name)
+    {
+        Set<Bean<?>> named = beansByName.get(name);
+        return named != null ? named : Collections.emptySet();
+    }
+
+    private static Class<?> getRawType(Type type)
+    {
+        if (type instanceof ParameterizedType)
+        {
+            type = ((ParameterizedType) type).getRawType();
+        }
+        if (!(type instanceof Class))
+        {
+            return null;
+        }
+        Class<?> clazz = (Class<?>) type;
+        return clazz.isPrimitive() ? ClassUtil.getPrimitiveWrapper(clazz) : clazz;
+    }
+
+    private static List<Bean<?>> toList(Collection<Bean<?>> beans)
+    {
+        return beans.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(beans.toArray(new Bean<?>[0])));
+    }
+}
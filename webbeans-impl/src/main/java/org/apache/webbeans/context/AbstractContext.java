@@ -38,6 +38,7 @@ import javax.enterprise.context.spi.CreationalContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.context.creational.ThreadConfinedBeanInstanceBag;
 
 /**
  * Abstract implementation of the {@link javax.enterprise.context.spi.Context} interfaces.
@@ -65,10 +66,11 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     @SuppressWarnings("unchecked")
     private <T> BeanInstanceBag<T> createContextualBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
     {
-        BeanInstanceBag<T> bag = new BeanInstanceBag<>(creationalContext);
+        BeanInstanceBag<T> bag;
         
         if(componentInstanceMap instanceof ConcurrentMap)
         {
+            bag = new BeanInstanceBag<>(creationalContext);
             BeanInstanceBag<?> existingBag = ((ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>) componentInstanceMap).putIfAbsent(contextual, bag);
             if (existingBag != null)
             {
@@ -77,6 +79,8 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         }
         else
         {
+            // a non concurrent map means that this context is only used by a single thread
+            bag = new ThreadConfinedBeanInstanceBag<>(creationalContext);
             componentInstanceMap.put(contextual, bag);
         }
 
@@ -21,6 +21,7 @@ package org.apache.webbeans.context;
 import java.lang.annotation.Annotation;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ContextException;
 import javax.enterprise.context.SessionScoped;
@@ -75,6 +76,33 @@ public abstract class AbstractContextsService implements ContextsService
         return getCurrentContext(scopeType);
     }
 
+    /**
+     * Provides the current context of the given scope for the {@link ContextAccessor} of the BeanManager.
+     * Services can return a supplier bound to the scope so a lookup doesn't dispatch on the scope type again.
+     *
+     * @return supplier of the current context, {@code null} if this service never handles the scope
+     */
+    public Supplier<Context> getCurrentContextSupplier(Class<? extends Annotation> scopeType)
+    {
+        return () -> getCurrentContext(scopeType);
+    }
+
+    /**
+     * @return {@code true} if {@link #getCurrentContext(Class)} is not overridden below the given type,
+     *         in which case the type can safely bind its scopes in {@link #getCurrentContextSupplier(Class)}
+     */
+    protected boolean isCurrentContextDeclaredBy(Class<?> type)
+    {
+        try
+        {
+            return getClass().getMethod("getCurrentContext", Class.class).getDeclaringClass() == type;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
     @Override
     public void init(Object initializeObject)
     {
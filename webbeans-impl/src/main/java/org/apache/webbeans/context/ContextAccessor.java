@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.spi.Context;
+
+/**
+ * Resolves the active {@link Context} of a single scope type.
+ *
+ * The {@link org.apache.webbeans.container.BeanManagerImpl} keeps one accessor per scope
+ * so looking up a context is a single table read instead of walking the
+ * {@link org.apache.webbeans.spi.ContextsService} and the custom context maps.
+ * The accessor itself stays valid for the whole lifetime of the container,
+ * contexts added later on only replace its custom contexts.
+ */
+public final class ContextAccessor
+{
+    private static final Context[] NO_CONTEXTS = new Context[0];
+
+    private final Class<? extends Annotation> scopeType;
+
+    /**
+     * Current context of the ContextsService, {@code null} for scopes it doesn't handle.
+     */
+    private final Supplier<Context> standardContext;
+
+    /**
+     * Custom contexts registered for the scope, copied on write.
+     */
+    private volatile Context[] customContexts = NO_CONTEXTS;
+
+    public ContextAccessor(Class<? extends Annotation> scopeType, Supplier<Context> standardContext)
+    {
+        this.scopeType = scopeType;
+        this.standardContext = standardContext;
+    }
+
+    public Class<? extends Annotation> getScopeType()
+    {
+        return scopeType;
+    }
+
+    public void setCustomContexts(List<Context> contexts)
+    {
+        customContexts = contexts.isEmpty() ? NO_CONTEXTS : contexts.toArray(new Context[contexts.size()]);
+    }
+
+    /**
+     * @return the active context of the scope
+     * @throws ContextNotActiveException if no context is active
+     * @throws IllegalStateException if more than one custom context is active
+     */
+    public Context get()
+    {
+        if (standardContext != null)
+        {
+            Context context = standardContext.get();
+            if (context != null && context.isActive())
+            {
+                return context;
+            }
+        }
+
+        Context[] contexts = customContexts;
+
+        // this is by far the most case
+        if (contexts.length == 1)
+        {
+            Context singleContext = contexts[0];
+            if (!singleContext.isActive())
+            {
+                throw notActive();
+            }
+            return singleContext;
+        }
+
+        // the spec also allows for multiple contexts existing for the same scope type
+        // but in this case only one must be active at a time (for the current thread)
+        Context found = null;
+        for (Context otherContext : contexts)
+        {
+            if (otherContext.isActive())
+            {
+                if (found != null)
+                {
+                    throw new IllegalStateException("More than one active context exists with scope type annotation @"
+                                                    + scopeType.getSimpleName());
+                }
+
+                found = otherContext;
+            }
+        }
+
+        if (found == null)
+        {
+            throw notActive();
+        }
+
+        return found;
+    }
+
+    private ContextNotActiveException notActive()
+    {
+        return new ContextNotActiveException("WebBeans context with scope type annotation @"
+                                             + scopeType.getSimpleName() + " does not exist within current thread");
+    }
+}
@@ -19,17 +19,21 @@
 package org.apache.webbeans.context;
 
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.PassivationCodecService;
 import org.apache.webbeans.util.WebBeansUtil;
 
 /**
@@ -48,43 +52,58 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
         WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
 
         scopeType = (Class<? extends Annotation>) in.readObject();
-        Map<String, BeanInstanceBag<?>> map = (Map<String, BeanInstanceBag<?>>)in.readObject();
         setComponentInstanceMap();
-        for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : map.entrySet())
+        webBeansContext.getPassivationCodecService().read(in, (id, creationalContext, instance) ->
         {
-            String id = beanBagEntry.getKey();
             if (id != null)
             {
-                Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
+                Contextual<Object> contextual = (Contextual<Object>) beanManager.getPassivationCapableBean(id);
                 if (contextual != null)
                 {
-                    componentInstanceMap.put(contextual, beanBagEntry.getValue());
+                    componentInstanceMap.put(contextual, new BeanInstanceBag<>((CreationalContext<Object>) creationalContext, instance));
                 }
             }
-        }
+        });
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
         out.writeObject(scopeType);
-        Map<String, BeanInstanceBag<?>> map = new HashMap<>(componentInstanceMap.size());
 
-        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
-        {
-            Contextual<?> contextual = beanBagEntry.getKey();
+        // the instances of a session can change while it gets replicated or passivated,
+        // so the codec gets a snapshot where size() and forEach() always agree
+        List<Map.Entry<Contextual<?>, BeanInstanceBag<?>>> entries = new ArrayList<>(componentInstanceMap.entrySet());
 
-            String id = WebBeansUtil.getPassivationId(contextual);
-            if (id == null)
+        WebBeansContext.currentInstance().getPassivationCodecService().write(out, new PassivationCodecService.PassivatedInstances()
+        {
+            @Override
+            public int size()
             {
-                throw new NotSerializableException("cannot serialize " + contextual.toString());
+                return entries.size();
             }
-            map.put(id, beanBagEntry.getValue());
-        }
 
-        out.writeObject(map);
+            @Override
+            public void forEach(PassivationCodecService.InstanceVisitor visitor) throws IOException
+            {
+                for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : entries)
+                {
+                    Contextual<?> contextual = beanBagEntry.getKey();
+
+                    String id = WebBeansUtil.getPassivationId(contextual);
+                    if (id == null)
+                    {
+                        throw new NotSerializableException("cannot serialize " + contextual.toString());
+                    }
+
+                    BeanInstanceBag<?> bag = beanBagEntry.getValue();
+                    visitor.visit(id, bag.getBeanCreationalContext(), bag.getBeanInstance());
+                }
+            }
+        });
     }
 
 }
@@ -18,13 +18,12 @@
  */
 package org.apache.webbeans.context;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
 
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
-
 /**
  * Request context implementation.
  *
@@ -44,6 +43,13 @@ public class RequestContext extends AbstractContext
      */
     private Object httpSession;
 
+    /**
+     * Contextual instances cached for the normal scoped proxies,
+     * indexed by the slot the BeanManagerImpl assigned to their bean.
+     * @see org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler
+     */
+    private transient Object[] cachedInstances;
+
     /*
     * Constructor
     */
@@ -97,10 +103,41 @@ public class RequestContext extends AbstractContext
         this.httpSession = httpSession;
     }
 
+    /**
+     * @return the instance cached under the given slot or {@code null} if there is none yet
+     */
+    public Object getCachedInstance(int slot)
+    {
+        Object[] instances = cachedInstances;
+        return instances != null && slot < instances.length ? instances[slot] : null;
+    }
+
+    public void setCachedInstance(int slot, Object instance)
+    {
+        Object[] instances = cachedInstances;
+        if (instances == null)
+        {
+            instances = new Object[Math.max(slot + 1, 16)];
+        }
+        else if (slot >= instances.length)
+        {
+            instances = Arrays.copyOf(instances, Math.max(slot + 1, instances.length * 2));
+        }
+        instances[slot] = instance;
+        cachedInstances = instances;
+    }
+
     @Override
     public void destroy(Contextual<?> contextual)
     {
         super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        cachedInstances = null;
+    }
+
+    @Override
+    public void destroy()
+    {
+        super.destroy();
+        cachedInstances = null;
     }
 }
@@ -20,7 +20,6 @@
 package org.apache.webbeans.context.control;
 
 import org.apache.webbeans.config.WebBeansContext;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.spi.ContextsService;
 
 import javax.enterprise.context.ContextNotActiveException;
@@ -56,7 +55,6 @@ public class OwbRequestContextController implements RequestContextController
         if (enabled)
         {
             contextsService.endContext(RequestScoped.class, null);
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
             enabled = false;
         }
     }
@@ -21,28 +21,38 @@ package org.apache.webbeans.context.creational;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import java.io.Serializable;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stores the CreationalContext and the Contextual Instance.
  * This also makes sure that we don't create the same bean
  * twice.
+ *
+ * Once created the instance is read without any locking.
+ * Only the very first creation is guarded by the monitor of the bag.
+ *
+ * @see ThreadConfinedBeanInstanceBag for contexts which are only used by a single thread
  */
 public class BeanInstanceBag<T> implements Serializable
 {
     private static final long serialVersionUID = 1656996021599122499L;
     private final CreationalContext<T> beanCreationalContext;
     
-    private T beanInstance;
-    
-    private final Lock lock = new ReentrantLock();
-    
+    protected volatile T beanInstance;
+
     public BeanInstanceBag(CreationalContext<T> beanCreationalContext)
     {
         this.beanCreationalContext = beanCreationalContext;
     }
 
+    /**
+     * Used to restore a bag for an already existing contextual instance, e.g. after passivation.
+     */
+    public BeanInstanceBag(CreationalContext<T> beanCreationalContext, T beanInstance)
+    {
+        this.beanCreationalContext = beanCreationalContext;
+        this.beanInstance = beanInstance;
+    }
+
     /**
      * @return the beanCreationalContext
      */
@@ -66,23 +76,24 @@ public class BeanInstanceBag<T> implements Serializable
      */
     public T create(Contextual<T> contextual)
     {
-        try
+        T instance = beanInstance;
+        if (instance != null)
+        {
+            return instance;
+        }
+
+        synchronized (this)
         {
-            lock.lock();
-            
             // we need to check again, maybe we got blocked by a previous invocation
-            if (beanInstance == null)
+            instance = beanInstance;
+            if (instance == null)
             {
-                beanInstance = contextual.create(beanCreationalContext);
+                instance = contextual.create(beanCreationalContext);
+                beanInstance = instance;
             }
-            
-        }
-        finally
-        {
-            lock.unlock();
         }
-        
-        return beanInstance; 
+
+        return instance;
     }
 
     @Override
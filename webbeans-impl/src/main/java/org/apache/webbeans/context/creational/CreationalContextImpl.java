@@ -32,9 +32,10 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /** {@inheritDoc} */
 public class CreationalContextImpl<T> implements CreationalContext<T>, Serializable
@@ -42,27 +43,50 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     //Default serial id
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Initial size of the dependent array. Most beans only have a few dependents.
+     */
+    private static final int INITIAL_DEPENDENTS_SIZE = 4;
+
+    /**
+     * Number of dependents after which we maintain an identity index
+     * to avoid scanning all of them when looking for an unknown instance.
+     */
+    private static final int DEPENDENTS_INDEX_THRESHOLD = 16;
+
     /**
      * The delegate object to be injected into delegate injection points
      */
     private transient T delegate;
     
     /**
-     * The injection point objects to be injected into injection points of type InjectionPoint
+     * The injection point object to be injected into injection points of type InjectionPoint.
+     * Only the top of the stack is kept inline, previous ones are in {@link #previousInjectionPoints}.
      */
-    private transient LinkedList<InjectionPoint> injectionPoints;
-    
+    private transient InjectionPoint injectionPoint;
+    private transient int injectionPointDepth;
+    private transient List<InjectionPoint> previousInjectionPoints;
+
     /**
-     * The EventMetadata objects to be injected into injection points of type EventMetadata
+     * The EventMetadata object to be injected into injection points of type EventMetadata
+     * Only the top of the stack is kept inline, previous ones are in {@link #previousEventMetadata}.
      */
-    private transient LinkedList<EventMetadata> eventMetadata;
+    private transient EventMetadata eventMetadata;
+    private transient int eventMetadataDepth;
+    private transient List<EventMetadata> previousEventMetadata;
 
     /**
-     * Contextual bean dependent instances
+     * Contextual bean dependent instances, the first {@link #dependentCount} entries are used.
      *
      * <p><b>ATTENTION</b> This variable gets initiated lazily!</p>
      */
-    private List<DependentCreationalContext<?>> dependentObjects;
+    private transient DependentCreationalContext<?>[] dependentObjects;
+    private transient int dependentCount;
+
+    /**
+     * Number of dependents per instance, only maintained for large dependent graphs.
+     */
+    private transient Map<Object, Integer> dependentIndex;
 
     /**
      * Contains the currently created bean
@@ -117,56 +141,64 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
 
     public InjectionPoint getInjectionPoint()
     {
-        if (injectionPoints == null || injectionPoints.isEmpty())
-        {
-            return null;
-        }
-        return injectionPoints.peek();
+        return injectionPoint;
     }
 
     public void putInjectionPoint(InjectionPoint injectionPoint)
     {
-        if (injectionPoints == null)
+        if (injectionPointDepth > 0)
         {
-            injectionPoints = new LinkedList<>();
+            if (previousInjectionPoints == null)
+            {
+                previousInjectionPoints = new ArrayList<>(4);
+            }
+            previousInjectionPoints.add(this.injectionPoint);
         }
-        injectionPoints.push(injectionPoint);
+        this.injectionPoint = injectionPoint;
+        injectionPointDepth++;
     }
 
     public InjectionPoint removeInjectionPoint()
     {
-        if (injectionPoints == null || injectionPoints.isEmpty())
+        if (injectionPointDepth == 0)
         {
             return null;
         }
-        return injectionPoints.pop();
+        InjectionPoint removed = injectionPoint;
+        injectionPointDepth--;
+        injectionPoint = injectionPointDepth > 0 ? previousInjectionPoints.remove(previousInjectionPoints.size() - 1) : null;
+        return removed;
     }
 
     public EventMetadata getEventMetadata()
     {
-        if (eventMetadata == null || eventMetadata.isEmpty())
-        {
-            return null;
-        }
-        return eventMetadata.peek();
+        return eventMetadata;
     }
 
     public void putEventMetadata(EventMetadata metadata)
     {
-        if (eventMetadata == null)
+        if (eventMetadataDepth > 0)
         {
-            eventMetadata = new LinkedList<>();
+            if (previousEventMetadata == null)
+            {
+                previousEventMetadata = new ArrayList<>(4);
+            }
+            previousEventMetadata.add(eventMetadata);
         }
-        eventMetadata.push(metadata);
+        eventMetadata = metadata;
+        eventMetadataDepth++;
     }
 
     public EventMetadata removeEventMetadata()
     {
-        if (eventMetadata == null || eventMetadata.isEmpty())
+        if (eventMetadataDepth == 0)
         {
             return null;
         }
-        return eventMetadata.pop();
+        EventMetadata removed = eventMetadata;
+        eventMetadataDepth--;
+        eventMetadata = eventMetadataDepth > 0 ? previousEventMetadata.remove(previousEventMetadata.size() - 1) : null;
+        return removed;
     }
 
     /**
@@ -197,16 +229,31 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             {
                 if (dependentObjects == null)
                 {
-                    dependentObjects = new ArrayList<>();
+                    dependentObjects = new DependentCreationalContext<?>[INITIAL_DEPENDENTS_SIZE];
+                }
+                else if (dependentCount == dependentObjects.length)
+                {
+                    dependentObjects = Arrays.copyOf(dependentObjects, dependentCount * 2);
                 }
 
                 if (dependent == bean)
                 {
-                    dependentObjects.add(0, dependentCreational);
+                    System.arraycopy(dependentObjects, 0, dependentObjects, 1, dependentCount);
+                    dependentObjects[0] = dependentCreational;
                 }
                 else
                 {
-                    dependentObjects.add(dependentCreational);
+                    dependentObjects[dependentCount] = dependentCreational;
+                }
+                dependentCount++;
+
+                if (dependentIndex != null)
+                {
+                    dependentIndex.merge(instance, 1, Integer::sum);
+                }
+                else if (dependentCount > DEPENDENTS_INDEX_THRESHOLD)
+                {
+                    indexDependents();
                 }
             }
         }
@@ -220,9 +267,14 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
         synchronized (this)
         {
-            for (DependentCreationalContext<?> dependentCreationalContext: dependentObjects)
+            if (dependentIndex != null && !dependentIndex.containsKey(instance))
             {
-                if (dependentCreationalContext.getContextual().equals(contextual) && dependentCreationalContext.getInstance() == instance)
+                return false;
+            }
+            for (int i = 0; i < dependentCount; i++)
+            {
+                DependentCreationalContext<?> dependentCreationalContext = dependentObjects[i];
+                if (dependentCreationalContext.getInstance() == instance && dependentCreationalContext.getContextual().equals(contextual))
                 {
                     return true;
                 }
@@ -239,9 +291,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
         synchronized (this)
         {
-            for (Iterator<DependentCreationalContext<?>> i = dependentObjects.iterator(); i.hasNext();)
+            if (dependentIndex != null && !dependentIndex.containsKey(instance))
+            {
+                return;
+            }
+            for (int i = 0; i < dependentCount; i++)
             {
-                DependentCreationalContext<?> dependentContext = i.next();
+                DependentCreationalContext<?> dependentContext = dependentObjects[i];
                 if (dependentContext.getInstance() == instance)
                 {
                     Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
@@ -249,7 +305,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
                     dependentContextual.destroy(instance, creationalContext);
                     if (dependentObjects != null)
                     {
-                        i.remove();
+                        // the destroy might have added or removed dependents
+                        removeDependent(dependentContext);
                     } // else previous destroy removed it
                     break;
                 }
@@ -257,6 +314,48 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
     }
 
+    private void indexDependents()
+    {
+        dependentIndex = new IdentityHashMap<>(dependentCount * 2);
+        for (int i = 0; i < dependentCount; i++)
+        {
+            dependentIndex.merge(dependentObjects[i].getInstance(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Must be called while holding the lock on this CreationalContext.
+     */
+    private void removeDependent(DependentCreationalContext<?> dependentContext)
+    {
+        for (int i = 0; i < dependentCount; i++)
+        {
+            if (dependentObjects[i] == dependentContext)
+            {
+                removeDependentAt(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Must be called while holding the lock on this CreationalContext.
+     */
+    private DependentCreationalContext<?> removeDependentAt(int position)
+    {
+        DependentCreationalContext<?> removed = dependentObjects[position];
+        dependentCount--;
+        System.arraycopy(dependentObjects, position + 1, dependentObjects, position, dependentCount - position);
+        dependentObjects[dependentCount] = null;
+
+        if (dependentIndex != null)
+        {
+            Object instance = removed.getInstance();
+            dependentIndex.computeIfPresent(instance, (key, count) -> count == 1 ? null : count - 1);
+        }
+        return removed;
+    }
+
     @SuppressWarnings("unchecked")
     public void removeAllDependents()
     {
@@ -272,13 +371,12 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             if (dependentObjects != null)
             {
                 // this is kind of an emergency valve...
-                int maxRemoval = dependentObjects.size() * 3;
-                while (!dependentObjects.isEmpty() && maxRemoval > 0)
+                int maxRemoval = dependentCount * 3;
+                while (dependentCount > 0 && maxRemoval > 0)
                 {
                     // we don't use an iterator because the destroyal might register a 
                     // fresh PreDestroy interceptor as dependent object...
-                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.get(0);
-                    dependentObjects.remove(0);
+                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) removeDependentAt(0);
                     dependent.getContextual().destroy((T) dependent.getInstance(), this);
                     maxRemoval--;
                 }
@@ -291,6 +389,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
 
         dependentObjects = null;
+        dependentCount = 0;
+        dependentIndex = null;
     }
     
     /**
@@ -332,7 +432,16 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private void writeObject(ObjectOutputStream s)
     throws IOException
     {
-        s.writeObject(dependentObjects);
+        // keep the List based format of previous versions
+        List<DependentCreationalContext<?>> dependents = null;
+        synchronized (this)
+        {
+            if (dependentObjects != null)
+            {
+                dependents = new ArrayList<>(Arrays.asList(dependentObjects).subList(0, dependentCount));
+            }
+        }
+        s.writeObject(dependents);
 
         String id = WebBeansUtil.getPassivationId(bean);
         if (bean != null && id != null)
@@ -354,7 +463,16 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     throws IOException, ClassNotFoundException
     {
         webBeansContext = WebBeansContext.currentInstance();
-        dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        List<DependentCreationalContext<?>> dependents = (List<DependentCreationalContext<?>>)s.readObject();
+        if (dependents != null)
+        {
+            dependentCount = dependents.size();
+            dependentObjects = dependents.toArray(new DependentCreationalContext<?>[Math.max(dependentCount, INITIAL_DEPENDENTS_SIZE)]);
+            if (dependentCount > DEPENDENTS_INDEX_THRESHOLD)
+            {
+                indexDependents();
+            }
+        }
 
         String id = (String) s.readObject();
         if (id != null)
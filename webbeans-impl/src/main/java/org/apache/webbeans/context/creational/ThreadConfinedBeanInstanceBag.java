@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+/**
+ * {@link BeanInstanceBag} for contexts which only get accessed by a single thread,
+ * like the RequestContext. The instance gets created without any locking.
+ */
+public class ThreadConfinedBeanInstanceBag<T> extends BeanInstanceBag<T>
+{
+    private static final long serialVersionUID = -2867164717208137734L;
+
+    public ThreadConfinedBeanInstanceBag(CreationalContext<T> beanCreationalContext)
+    {
+        super(beanCreationalContext);
+    }
+
+    @Override
+    public T create(Contextual<T> contextual)
+    {
+        T instance = beanInstance;
+        if (instance == null)
+        {
+            instance = contextual.create(getBeanCreationalContext());
+            beanInstance = instance;
+        }
+        return instance;
+    }
+}
@@ -18,21 +18,47 @@
  */
 package org.apache.webbeans.corespi;
 
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.spi.SingletonService;
 import org.apache.webbeans.util.Asserts;
 
+/**
+ * Default {@link SingletonService} which keeps one {@link WebBeansContext} per ClassLoader.
+ *
+ * Lookups do not take any lock: the instances are stored in a {@link ConcurrentMap}
+ * with weak ClassLoader keys and the last hit is remembered, which is the common case
+ * for applications running in a single ClassLoader.
+ * Only the creation of a new {@link WebBeansContext} is serialized.
+ */
 public class DefaultSingletonService implements SingletonService<WebBeansContext>
 {
     /**
      * Keys --> ClassLoaders
      * Values --> WebBeansContext
      */
-    private final Map<ClassLoader, WebBeansContext> singletonMap = new WeakHashMap<>();
-    
+    private final ConcurrentMap<Object, WebBeansContext> singletonMap = new ConcurrentHashMap<>();
+
+    /**
+     * Cleared keys of garbage collected ClassLoaders
+     */
+    private final ReferenceQueue<ClassLoader> staleKeys = new ReferenceQueue<>();
+
+    /**
+     * The entry found by the last lookup.
+     */
+    private volatile LastHit lastHit;
+
+    /**
+     * Incremented on each clear to invalidate the {@link #lastHit}.
+     */
+    private volatile int generation;
+
     /**
      * Gets singleton instance for deployment.
      * @return singleton instance for this deployment
@@ -42,31 +68,49 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     {
         assertClassLoaderKey(key);
         ClassLoader classLoader = (ClassLoader) key;
-        synchronized (singletonMap)
+
+        int currentGeneration = generation;
+        LastHit hit = lastHit;
+        if (hit != null && hit.generation == currentGeneration && hit.get() == classLoader)
         {
-            //util.Track.sync(key);
-            
-            WebBeansContext webBeansContext = singletonMap.get(classLoader);
-            //util.Track.get(key);
+            return hit.webBeansContext;
+        }
 
-            if (webBeansContext == null)
-            {
-                webBeansContext = new WebBeansContext();
-                singletonMap.put(classLoader, webBeansContext);
-            }
+        WebBeansContext webBeansContext = singletonMap.get(new LookupKey(classLoader));
+        if (webBeansContext == null)
+        {
+            webBeansContext = create(classLoader);
+        }
+
+        lastHit = new LastHit(classLoader, webBeansContext, currentGeneration);
+        return webBeansContext;
+    }
 
-            return webBeansContext;
+    private synchronized WebBeansContext create(ClassLoader classLoader)
+    {
+        WebBeansContext webBeansContext = singletonMap.get(new LookupKey(classLoader));
+        if (webBeansContext == null)
+        {
+            expungeStaleKeys();
 
+            webBeansContext = new WebBeansContext();
+            WebBeansContext existing = singletonMap.putIfAbsent(new WeakKey(classLoader, staleKeys), webBeansContext);
+            if (existing != null)
+            {
+                // registered while the WebBeansContext got constructed
+                webBeansContext = existing;
+            }
         }
+        return webBeansContext;
     }
 
     public void register(ClassLoader key, WebBeansContext context)
     {
-        if (singletonMap.containsKey(key))
+        expungeStaleKeys();
+        if (singletonMap.putIfAbsent(new WeakKey(key, staleKeys), context) != null)
         {
             throw new IllegalArgumentException(key + " is already registered");
         }
-        singletonMap.putIfAbsent(key, context);
     }
 
     /**
@@ -76,10 +120,10 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     public void clearInstances(ClassLoader classLoader)
     {
         Asserts.assertNotNull(classLoader, "classloader");
-        synchronized (singletonMap)
-        {
-            singletonMap.remove(classLoader);
-        }
+        singletonMap.remove(new LookupKey(classLoader));
+        generation++;
+        lastHit = null;
+        expungeStaleKeys();
     }
 
     /**
@@ -106,6 +150,103 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
 
     public boolean exists(final Object key)
     {
-        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(key);
+        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(new LookupKey((ClassLoader) key));
+    }
+
+    private void expungeStaleKeys()
+    {
+        Reference<? extends ClassLoader> stale;
+        while ((stale = staleKeys.poll()) != null)
+        {
+            singletonMap.remove(stale);
+        }
+    }
+
+    /**
+     * Weak ClassLoader key stored in the map. Compares the ClassLoader by identity.
+     */
+    private static final class WeakKey extends WeakReference<ClassLoader>
+    {
+        private final int hash;
+
+        private WeakKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue)
+        {
+            super(classLoader, queue);
+            hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (other instanceof WeakKey)
+            {
+                ClassLoader classLoader = get();
+                return classLoader != null && classLoader == ((WeakKey) other).get();
+            }
+            if (other instanceof LookupKey)
+            {
+                ClassLoader classLoader = get();
+                return classLoader != null && classLoader == ((LookupKey) other).classLoader;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Short living strong key only used to query the map.
+     */
+    private static final class LookupKey
+    {
+        private final ClassLoader classLoader;
+        private final int hash;
+
+        private LookupKey(ClassLoader classLoader)
+        {
+            this.classLoader = classLoader;
+            hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (other instanceof WeakKey)
+            {
+                return classLoader == ((WeakKey) other).get();
+            }
+            return other instanceof LookupKey && classLoader == ((LookupKey) other).classLoader;
+        }
+    }
+
+    private static final class LastHit extends WeakReference<ClassLoader>
+    {
+        private final WebBeansContext webBeansContext;
+        private final int generation;
+
+        private LastHit(ClassLoader classLoader, WebBeansContext webBeansContext, int generation)
+        {
+            super(classLoader);
+            this.webBeansContext = webBeansContext;
+            this.generation = generation;
+        }
     }
 }
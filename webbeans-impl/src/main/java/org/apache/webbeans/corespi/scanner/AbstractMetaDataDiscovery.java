@@ -27,6 +27,7 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ParallelArchive;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
@@ -50,6 +51,8 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -58,6 +61,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -70,7 +77,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     // via constant to also adopt to shading.
     private static final String DEPENDENT_CLASS = Dependent.class.getName();
 
-    private Map<String, Boolean> annotationCache = new HashMap<>();
+    private Map<String, Boolean> annotationCache = new ConcurrentHashMap<>();
 
     private BeanArchiveService beanArchiveService;
 
@@ -104,6 +111,11 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     protected CdiArchive archive;
     protected OwbAnnotationFinder finder;
     protected boolean isBDAScannerEnabled;
+
+    /**
+     * Number of archives read and of bean archives loaded concurrently.
+     */
+    protected int parallelism = 1;
     protected BDABeansXmlScanner bdaBeansXmlScanner;
     protected WebBeansContext webBeansContext;
 
@@ -132,9 +144,11 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
             extensionJars.clear(); // no more needed
         }
+        parallelism = Math.max(1, Integer.parseInt(webBeansContext.getOpenWebBeansConfiguration().getProperty(
+                OpenWebBeansConfiguration.SCANNER_PARALLELISM, "1").trim()));
         archive = new CdiArchive(
                 beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
-                beanDeploymentUrls, userFilter, getAdditionalArchive());
+                beanDeploymentUrls, userFilter, getAdditionalArchive(), parallelism);
         finder = new OwbAnnotationFinder(archive);
 
         return finder;
@@ -469,61 +483,125 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             boolean dontSkipNCDFT = !(webBeansContext != null &&
                     webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers());
 
-            for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
+            Collection<CdiArchive.FoundClasses> foundClassesPerUrl = archive.classesByUrl().values();
+            if (parallelism > 1 && foundClassesPerUrl.size() > 1)
             {
-                Set<Class<?>> classSet = new HashSet<>();
-                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
-                for (String className : foundClasses.getClassNames())
+                // loading is the costly part, the per BDA sets are still merged in the sequential order
+                // the context is resolved on the deploying thread, pool threads must not look it up on their own
+                WebBeansContext context = webBeansContext();
+                ExecutorService executor = ParallelArchive.newExecutor(parallelism);
+                try
                 {
-                    try
+                    List<Future<Set<Class<?>>>> classSets = new ArrayList<>(foundClassesPerUrl.size());
+                    for (CdiArchive.FoundClasses foundClasses : foundClassesPerUrl)
                     {
-                        if (scanModeAnnotated)
+                        classSets.add(executor.submit(() ->
                         {
-                            // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
-                            if (classInfo == null || !isBeanAnnotatedClass(classInfo))
+                            Thread thread = Thread.currentThread();
+                            ClassLoader oldLoader = thread.getContextClassLoader();
+                            thread.setContextClassLoader(loader);
+                            try
                             {
-                                continue;
+                                return loadBeanClasses(foundClasses, context, loader, dontSkipNCDFT);
                             }
-                        }
-
-                        Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
-                        if (clazz != null)
-                        {
-                            if (dontSkipNCDFT)
+                            finally
                             {
-                                // try to provoke a NoClassDefFoundError exception which is thrown
-                                // if some dependencies of the class are missing
-                                clazz.getDeclaredFields();
+                                thread.setContextClassLoader(oldLoader);
                             }
+                        }));
+                    }
 
-                            // we can add this class cause it has been loaded completely
-                            classSet.add(clazz);
-                        }
+                    Iterator<Future<Set<Class<?>>>> classSet = classSets.iterator();
+                    for (CdiArchive.FoundClasses foundClasses : foundClassesPerUrl)
+                    {
+                        beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet.next().get());
                     }
-                    catch (NoClassDefFoundError e)
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new WebBeansDeploymentException(e);
+                }
+                catch (ExecutionException e)
+                {
+                    if (e.getCause() instanceof Error)
                     {
-                        if (isAnonymous(className))
-                        {
-                            if (logger.isLoggable(Level.FINE))
-                            {
-                                logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                            }
-                        }
-                        else if (logger.isLoggable(Level.WARNING))
-                        {
-                            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                        }
+                        throw (Error) e.getCause();
                     }
+                    throw new WebBeansDeploymentException(e.getCause());
+                }
+                finally
+                {
+                    executor.shutdownNow();
+                }
+            }
+            else
+            {
+                for (CdiArchive.FoundClasses foundClasses : foundClassesPerUrl)
+                {
+                    beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), loadBeanClasses(foundClasses, null, loader, dontSkipNCDFT));
                 }
-
-                beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet);
             }
-
         }
         return beanClassesPerBda;
     }
 
+    /**
+     * @param context the deployment context if called on a scanner pool thread, {@code null} on the
+     *                deploying thread which keeps calling the one argument hooks
+     */
+    private Set<Class<?>> loadBeanClasses(CdiArchive.FoundClasses foundClasses, WebBeansContext context,
+                                          ClassLoader loader, boolean dontSkipNCDFT)
+    {
+        Set<Class<?>> classSet = new HashSet<>();
+        boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+        for (String className : foundClasses.getClassNames())
+        {
+            try
+            {
+                if (scanModeAnnotated)
+                {
+                    // in this case we need to find out whether we should keep this class in the Archive
+                    AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+                    if (classInfo == null || !(context == null
+                            ? isBeanAnnotatedClass(classInfo) : isBeanAnnotatedClass(classInfo, context, loader)))
+                    {
+                        continue;
+                    }
+                }
+
+                Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
+                if (clazz != null)
+                {
+                    if (dontSkipNCDFT)
+                    {
+                        // try to provoke a NoClassDefFoundError exception which is thrown
+                        // if some dependencies of the class are missing
+                        clazz.getDeclaredFields();
+                    }
+
+                    // we can add this class cause it has been loaded completely
+                    classSet.add(clazz);
+                }
+            }
+            catch (NoClassDefFoundError e)
+            {
+                if (isAnonymous(className))
+                {
+                    if (logger.isLoggable(Level.FINE))
+                    {
+                        logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                    }
+                }
+                else if (logger.isLoggable(Level.WARNING))
+                {
+                    logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                }
+            }
+        }
+        return classSet;
+    }
+
     private boolean isAnonymous(final String className)
     {
         final int start = className.lastIndexOf('$');
@@ -567,9 +645,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         // check whether this class has 'scope' annotations or a stereotype
         for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
         {
-            if (Interceptor.class.getName().equals(annotationInfo.getName()) ||
-                    Decorator.class.getName().equals(annotationInfo.getName()) ||
-                    isBeanAnnotation(annotationInfo))
+            if (isInterceptorOrDecorator(annotationInfo) || isBeanAnnotation(annotationInfo))
             {
                 return true;
             }
@@ -577,7 +653,41 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         return false;
     }
 
+    /**
+     * Used instead of {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo)} if the classes get loaded
+     * on the scanner pool threads, i.e. with {@link OpenWebBeansConfiguration#SCANNER_PARALLELISM} &gt; 1.
+     * It gets the context and the classloader of the deployment passed in as the pool threads must not
+     * look them up on their own. Integrations overriding the one argument variant have to override this
+     * one as well to keep their criterias in a parallel scan.
+     */
+    protected boolean isBeanAnnotatedClass(AnnotationFinder.ClassInfo classInfo, WebBeansContext context, ClassLoader loader)
+    {
+        for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+        {
+            if (isInterceptorOrDecorator(annotationInfo) || isBeanAnnotation(annotationInfo, context, loader))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInterceptorOrDecorator(AnnotationFinder.AnnotationInfo annotationInfo)
+    {
+        return Interceptor.class.getName().equals(annotationInfo.getName()) ||
+                Decorator.class.getName().equals(annotationInfo.getName());
+    }
+
     protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo)
+    {
+        return isBeanAnnotation(annotationInfo, webBeansContext(), WebBeansUtil.getCurrentClassLoader());
+    }
+
+    /**
+     * Used instead of {@link #isBeanAnnotation(AnnotationFinder.AnnotationInfo)} on the scanner pool threads,
+     * see {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo, WebBeansContext, ClassLoader)}.
+     */
+    protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo, WebBeansContext context, ClassLoader loader)
     {
         String annotationName = annotationInfo.getName();
 
@@ -589,12 +699,12 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
         try
         {
-            Class<? extends Annotation> annotationType = (Class<? extends Annotation>) WebBeansUtil.getCurrentClassLoader().loadClass(annotationName);
+            Class<? extends Annotation> annotationType = (Class<? extends Annotation>) loader.loadClass(annotationName);
 
-            isBeanAnnotation = DEPENDENT_CLASS.equals(annotationName) || webBeansContext().getBeanManagerImpl().isNormalScope(annotationType);
+            isBeanAnnotation = DEPENDENT_CLASS.equals(annotationName) || context.getBeanManagerImpl().isNormalScope(annotationType);
             if (!isBeanAnnotation)
             {
-                isBeanAnnotation = webBeansContext().getBeanManagerImpl().isStereotype(annotationType);
+                isBeanAnnotation = context.getBeanManagerImpl().isStereotype(annotationType);
             }
             annotationCache.put(annotationName, isBeanAnnotation);
 
@@ -54,6 +54,15 @@ public class CdiArchive implements Archive
 
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, 1);
+    }
+
+    /**
+     * @param parallelism number of archives read concurrently, see {@link ParallelArchive}
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, int parallelism)
     {
         Collection<Archive> archives = new ArrayList<>();
         boolean customAdded = false;
@@ -78,7 +87,8 @@ public class CdiArchive implements Archive
         {
             archives.add(userFilter != null ? new FilteredArchive(customArchive, userFilter) : customArchive);
         }
-        delegate = new CompositeArchive(archives);
+        delegate = parallelism > 1 && archives.size() > 1 ?
+                new ParallelArchive(archives, parallelism) : new CompositeArchive(archives);
     }
 
     public Map<String, FoundClasses> classesByUrl()
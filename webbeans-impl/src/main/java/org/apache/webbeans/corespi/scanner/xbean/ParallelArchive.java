@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.CompositeArchive;
+
+/**
+ * Composite archive reading its archives concurrently, one task per jar or directory.
+ *
+ * The iteration still returns the entries archive after archive in the given order so the
+ * {@link org.apache.xbean.finder.AnnotationFinder} parses exactly the same bytecode in the same
+ * order as with a {@link CompositeArchive}, only the reads and the inflating of the entries happen
+ * in the pool. At most twice the parallelism archives are read ahead to bound the memory.
+ */
+public class ParallelArchive implements Archive
+{
+    private final List<Archive> archives;
+    private final int parallelism;
+    private final CompositeArchive delegate;
+
+    public ParallelArchive(Collection<Archive> archives, int parallelism)
+    {
+        this.archives = new ArrayList<>(archives);
+        this.parallelism = parallelism;
+        this.delegate = new CompositeArchive(this.archives);
+    }
+
+    /**
+     * @return a pool of daemon threads which do not outlive the scanning when it is not shut down
+     */
+    public static ExecutorService newExecutor(int parallelism)
+    {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task ->
+                {
+                    Thread thread = new Thread(task, "OpenWebBeans-scanner-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+    {
+        return delegate.getBytecode(className);
+    }
+
+    @Override
+    public Class<?> loadClass(String className) throws ClassNotFoundException
+    {
+        return delegate.loadClass(className);
+    }
+
+    @Override
+    public Iterator<Entry> iterator()
+    {
+        return new ReadAheadIterator();
+    }
+
+    private static List<Entry> read(Archive archive)
+    {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : archive)
+        {
+            entries.add(new ReadEntry(entry));
+        }
+        return entries;
+    }
+
+    private final class ReadAheadIterator implements Iterator<Entry>
+    {
+        private final ExecutorService executor = newExecutor(parallelism);
+        private final Iterator<Archive> remaining = archives.iterator();
+        private final Deque<Future<List<Entry>>> reads = new ArrayDeque<>();
+
+        private Iterator<Entry> current = Collections.emptyIterator();
+
+        private ReadAheadIterator()
+        {
+            submit();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext())
+            {
+                Future<List<Entry>> read = reads.poll();
+                if (read == null)
+                {
+                    executor.shutdown();
+                    return false;
+                }
+                current = await(read).iterator();
+                submit();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void submit()
+        {
+            while (reads.size() < parallelism * 2 && remaining.hasNext())
+            {
+                Archive archive = remaining.next();
+                reads.add(executor.submit(() -> read(archive)));
+            }
+        }
+
+        private List<Entry> await(Future<List<Entry>> read)
+        {
+            try
+            {
+                return read.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new IllegalStateException("Interrupted while scanning the archives", e);
+            }
+            catch (ExecutionException e)
+            {
+                executor.shutdownNow();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    /**
+     * Entry with its bytecode already read, a read failure is reported when the bytecode
+     * is requested as the sequential iteration would do.
+     */
+    private static final class ReadEntry implements Entry
+    {
+        private final String name;
+        private final byte[] bytecode;
+        private final IOException error;
+
+        private ReadEntry(Entry entry)
+        {
+            name = entry.getName();
+
+            byte[] bytes = null;
+            IOException failure = null;
+            try (InputStream stream = entry.getBytecode())
+            {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(stream.available(), 1024));
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) >= 0)
+                {
+                    out.write(buffer, 0, read);
+                }
+                bytes = out.toByteArray();
+            }
+            catch (IOException e)
+            {
+                failure = e;
+            }
+            bytecode = bytes;
+            error = failure;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getBytecode() throws IOException
+        {
+            if (error != null)
+            {
+                throw error;
+            }
+            return new ByteArrayInputStream(bytecode);
+        }
+    }
+}
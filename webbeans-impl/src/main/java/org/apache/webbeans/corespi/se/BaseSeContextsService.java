@@ -19,6 +19,7 @@
 package org.apache.webbeans.corespi.se;
 
 import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.BusyConversationException;
@@ -43,8 +44,8 @@ import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 
 
 public abstract class BaseSeContextsService extends AbstractContextsService
@@ -87,11 +88,21 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         
         if(scopeType.equals(RequestScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             stopRequestContext();
+            if (recorded != null)
+            {
+                FlightRecorderEvents.endContext(recorded, RequestScoped.class, false);
+            }
         }
         else if(scopeType.equals(SessionScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             stopSessionContext();
+            if (recorded != null)
+            {
+                FlightRecorderEvents.endContext(recorded, SessionScoped.class, false);
+            }
         }
         else if(scopeType.equals(ApplicationScoped.class))
         {
@@ -145,6 +156,45 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Supplier<Context> getCurrentContextSupplier(Class<? extends Annotation> scopeType)
+    {
+        if (!isCurrentContextDeclaredBy(BaseSeContextsService.class))
+        {
+            return super.getCurrentContextSupplier(scopeType);
+        }
+
+        if(scopeType.equals(RequestScoped.class))
+        {
+            return this::getCurrentRequestContext;
+        }
+        else if(scopeType.equals(SessionScoped.class))
+        {
+            return this::getCurrentSessionContext;
+        }
+        else if(scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if(scopeType.equals(ConversationScoped.class))
+        {
+            return () -> supportsConversation ? getCurrentConversationContext() : null;
+        }
+        else if(scopeType.equals(Dependent.class))
+        {
+            return this::getCurrentDependentContext;
+        }
+        else if(scopeType.equals(Singleton.class))
+        {
+            return this::getCurrentSingletonContext;
+        }
+
+        return null;
+    }
+
 
     /**
      * {@inheritDoc}
@@ -156,11 +206,21 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         {
             if(scopeType.equals(RequestScoped.class))
             {
+                Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
                 startRequestContext();
+                if (recorded != null)
+                {
+                    FlightRecorderEvents.endContext(recorded, RequestScoped.class, true);
+                }
             }
             else if(scopeType.equals(SessionScoped.class))
             {
+                Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
                 startSessionContext();
+                if (recorded != null)
+                {
+                    FlightRecorderEvents.endContext(recorded, SessionScoped.class, true);
+                }
             }
             else if(scopeType.equals(ApplicationScoped.class))
             {
@@ -195,7 +255,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (requestCtx != null)
         {
             requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
             requestContext.set(null);
             requestContext.remove();
         }
@@ -436,7 +495,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         BaseSeContextsService.requestContext.set(null);
         BaseSeContextsService.requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
 
         if (ctx != null && shouldFireRequestLifecycleEvents())
         {
@@ -43,6 +43,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -74,11 +75,13 @@ import javax.enterprise.inject.spi.ProcessSyntheticBean;
 import javax.enterprise.inject.spi.ProcessSyntheticObserverMethod;
 
 import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.config.DeploymentReport;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.events.ProcessAnnotatedTypeImpl;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
@@ -99,21 +102,28 @@ import static java.util.stream.Collectors.toMap;
 
 public class NotificationManager
 {
-    private final Map<Type, Set<ObserverMethod<?>>> observers = new ConcurrentHashMap<>();
+    /**
+     * The observer methods per observed type.
+     * The sets get copied on write, so events fired meanwhile iterate a consistent snapshot.
+     */
+    private final ConcurrentMap<Type, Set<ObserverMethod<?>>> observers = new ConcurrentHashMap<>();
     private final WebBeansContext webBeansContext;
 
     private final NotificationOptions defaultNotificationOptions;
 
     /**
      * Contains information whether certain Initialized and Destroyed events have observer methods.
+     * Replaced instead of cleared when observers get added at runtime, like {@link #observersByRawType}.
      */
-    private final ConcurrentMap<Annotation, Boolean> hasContextLifecycleEventObservers
+    private volatile ConcurrentMap<Annotation, Boolean> hasContextLifecycleEventObservers
         = new ConcurrentHashMap<>();
 
     /**
      * List of ObserverMethods cached by their raw types.
+     * Replaced instead of cleared when observers get added at runtime: a resolution still running
+     * against the previous observers fills the map it started with, which is not used anymore.
      */
-    private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
+    private volatile ConcurrentMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
@@ -142,6 +152,11 @@ public class NotificationManager
     private Map<Type, Set<ObserverMethod<?>>> processSyntheticBeanObservers;
     private Map<Type, Set<ObserverMethod<?>>> processSyntheticObserverMethodObservers;
 
+    /**
+     * Only set while the container deploys with the deployment report enabled.
+     */
+    private DeploymentReport deploymentReport;
+
     public NotificationManager(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
@@ -158,6 +173,14 @@ public class NotificationManager
         return service != null ? service : new CloseableExecutor();
     }
 
+    /**
+     * @param deploymentReport the report the lifecycle event observers get recorded in, {@code null} to stop recording
+     */
+    public void setDeploymentReport(DeploymentReport deploymentReport)
+    {
+        this.deploymentReport = deploymentReport;
+    }
+
     /**
      * This methods needs to get called after the container got started.
      * This is to avoid that events which already got fired during bootstrap in Extensions
@@ -165,8 +188,8 @@ public class NotificationManager
      */
     public void clearCaches()
     {
-        observersByRawType.clear();
-        hasContextLifecycleEventObservers.clear();
+        observersByRawType = new ConcurrentHashMap<>();
+        hasContextLifecycleEventObservers = new ConcurrentHashMap<>();
 
         processAnnotatedTypeObservers = null;
         processBeanAttributesObservers = null;
@@ -189,6 +212,7 @@ public class NotificationManager
      */
     public boolean hasContextLifecycleObserver(Annotation lifecycleEvent)
     {
+        ConcurrentMap<Annotation, Boolean> hasContextLifecycleEventObservers = this.hasContextLifecycleEventObservers;
         Boolean hasObserver = hasContextLifecycleEventObservers.get(lifecycleEvent);
         if (hasObserver == null)
         {
@@ -224,9 +248,19 @@ public class NotificationManager
     {
         webBeansContext.getAnnotationManager().checkQualifierConditions(observer.getObservedQualifiers());
 
-        Set<ObserverMethod<?>> set = observers.computeIfAbsent(observer.getObservedType(), k -> new HashSet<>());
+        observers.compute(observer.getObservedType(), (type, existing) ->
+        {
+            Set<ObserverMethod<?>> set = existing == null ? new HashSet<>() : new HashSet<>(existing);
+            set.add(observer);
+            return set;
+        });
 
-        set.add(observer);
+        if (webBeansContext.getBeanManagerImpl().isAfterDeploymentValidationFired())
+        {
+            // only after the observer got published
+            observersByRawType = new ConcurrentHashMap<>();
+            hasContextLifecycleEventObservers = new ConcurrentHashMap<>();
+        }
     }
 
     public boolean hasProcessAnnotatedTypeObservers()
@@ -546,6 +580,7 @@ public class NotificationManager
 
         // whether the fired event is a raw java class or a generic type
         boolean isRawEvent = declaredEventType instanceof Class;
+        ConcurrentMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType = this.observersByRawType;
         if (isRawEvent)
         {
             Set rawTypeObservers = observersByRawType.get(eventClass);
@@ -913,6 +948,35 @@ public class NotificationManager
         return defaultNotificationOptions;
     }
 
+    /**
+     * Holds the asynchronous observer deliveries of the default executor and waits for the running ones.
+     * Executors registered as an {@link Executor} service are owned by the application and left untouched.
+     *
+     * @return {@code true} if there is no more running delivery, {@code false} if the timeout was reached first.
+     */
+    public boolean suspendAsyncDelivery(long timeout, TimeUnit unit)
+    {
+        Executor executor = defaultNotificationOptions.getExecutor();
+        if (executor instanceof CloseableExecutor)
+        {
+            return ((CloseableExecutor) executor).suspend(unit.toMillis(timeout));
+        }
+        return true;
+    }
+
+    /**
+     * Submits the deliveries held since {@link #suspendAsyncDelivery(long, TimeUnit)} and restarts
+     * the normal asynchronous delivery.
+     */
+    public void resumeAsyncDelivery()
+    {
+        Executor executor = defaultNotificationOptions.getExecutor();
+        if (executor instanceof CloseableExecutor)
+        {
+            ((CloseableExecutor) executor).resume();
+        }
+    }
+
     /**
      * Fire the given event
      * @param notificationOptions if {@code null} then this is a synchronous event. Otherwise fireAsync
@@ -957,6 +1021,35 @@ public class NotificationManager
     public <T> CompletionStage<T> doFireAsync(EventContext<?> context,
                                               boolean isLifecycleEvent, NotificationOptions notificationOptions,
                                               List<ObserverMethod<? super Object>> observerMethods)
+    {
+        if (!webBeansContext.isMetricsEnabled() && !webBeansContext.isFlightRecorderEnabled())
+        {
+            return notifyAsync(context, isLifecycleEvent, notificationOptions, observerMethods);
+        }
+
+        // only the hand-over to the executor, the observers run later
+        Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginEventFire() : null;
+        long start = System.nanoTime();
+        try
+        {
+            return notifyAsync(context, isLifecycleEvent, notificationOptions, observerMethods);
+        }
+        finally
+        {
+            if (webBeansContext.isMetricsEnabled())
+            {
+                webBeansContext.getMetricsService().eventDispatched(context.getEvent().getClass(), System.nanoTime() - start);
+            }
+            if (recorded != null)
+            {
+                FlightRecorderEvents.endEventFire(recorded, context.getEvent(), observerMethods.size(), true);
+            }
+        }
+    }
+
+    private <T> CompletionStage<T> notifyAsync(EventContext<?> context,
+                                               boolean isLifecycleEvent, NotificationOptions notificationOptions,
+                                               List<ObserverMethod<? super Object>> observerMethods)
     {
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
         for (ObserverMethod<? super Object> observer : observerMethods)
@@ -997,6 +1090,34 @@ public class NotificationManager
         {
             return;
         }
+        if (!webBeansContext.isMetricsEnabled() && !webBeansContext.isFlightRecorderEnabled())
+        {
+            notifySync(context, isLifecycleEvent, observerMethods);
+            return;
+        }
+
+        Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginEventFire() : null;
+        long start = System.nanoTime();
+        try
+        {
+            notifySync(context, isLifecycleEvent, observerMethods);
+        }
+        finally
+        {
+            if (webBeansContext.isMetricsEnabled())
+            {
+                webBeansContext.getMetricsService().eventDispatched(context.getEvent().getClass(), System.nanoTime() - start);
+            }
+            if (recorded != null)
+            {
+                FlightRecorderEvents.endEventFire(recorded, context.getEvent(), observerMethods.size(), false);
+            }
+        }
+    }
+
+    private void notifySync(EventContext<?> context, boolean isLifecycleEvent,
+                            List<ObserverMethod<? super Object>> observerMethods)
+    {
         // synchronous case
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
@@ -1006,7 +1127,23 @@ public class NotificationManager
 
                 if (phase == null || phase == TransactionPhase.IN_PROGRESS)
                 {
-                    invokeObserverMethod(context, observer);
+                    DeploymentReport report = deploymentReport;
+                    if (isLifecycleEvent && report != null)
+                    {
+                        long[] token = report.startObserver();
+                        try
+                        {
+                            invokeObserverMethod(context, observer);
+                        }
+                        finally
+                        {
+                            report.observerInvoked(observer, context.getEvent(), token);
+                        }
+                    }
+                    else
+                    {
+                        invokeObserverMethod(context, observer);
+                    }
                 }
                 else
                 {
@@ -1245,13 +1382,57 @@ public class NotificationManager
     private static final class CloseableExecutor implements Executor, Closeable
     {
         private final Collection<Runnable> tracker = new CopyOnWriteArrayList<>();
+        private final List<Runnable> suspended = new ArrayList<>();
         private volatile boolean reject;
+        private volatile boolean suspending;
+
+        private boolean suspend(long timeoutMillis)
+        {
+            suspending = true;
+            long end = System.currentTimeMillis() + timeoutMillis;
+            while (!tracker.isEmpty())
+            {
+                if (System.currentTimeMillis() >= end)
+                {
+                    return false;
+                }
+                try
+                {
+                    Thread.sleep(10);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return tracker.isEmpty();
+                }
+            }
+            return true;
+        }
+
+        private void resume()
+        {
+            List<Runnable> toSubmit;
+            synchronized (suspended)
+            {
+                suspending = false;
+                toSubmit = new ArrayList<>(suspended);
+                suspended.clear();
+            }
+            toSubmit.forEach(this::execute);
+        }
 
         @Override
         public void close() throws IOException
         {
             reject = true;
-            tracker.forEach(r -> {
+            List<Runnable> pending;
+            synchronized (suspended)
+            {
+                pending = new ArrayList<>(tracker);
+                pending.addAll(suspended);
+                suspended.clear();
+            }
+            pending.forEach(r -> {
                 try
                 {
                     r.run();
@@ -1271,7 +1452,20 @@ public class NotificationManager
                 throw new RejectedExecutionException("CDI executor is shutdown");
             }
 
+            // tracked before checking the suspension to let suspend() wait for it if it races with us
             tracker.add(command);
+            if (suspending)
+            {
+                synchronized (suspended)
+                {
+                    if (suspending)
+                    {
+                        tracker.remove(command);
+                        suspended.add(command);
+                        return;
+                    }
+                }
+            }
             ForkJoinPool.commonPool().execute(() ->
             {
                 try
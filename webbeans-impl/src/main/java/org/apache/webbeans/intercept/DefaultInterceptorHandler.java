@@ -22,8 +22,10 @@ import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -75,6 +77,16 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * Only set if the metrics are enabled.
+     */
+    private transient MetricsService metricsService;
+
+    /**
+     * Whether the {@link FlightRecorderEvents} get emitted.
+     */
+    private transient boolean flightRecorderEnabled;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -122,6 +134,16 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         return interceptors;
     }
 
+    public void setMetricsService(MetricsService metricsService)
+    {
+        this.metricsService = metricsService;
+    }
+
+    public void setFlightRecorderEnabled(boolean flightRecorderEnabled)
+    {
+        this.flightRecorderEnabled = flightRecorderEnabled;
+    }
+
     @Override
     public Object invoke(Method method, Object[] parameters)
     {
@@ -136,7 +158,28 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             InterceptorInvocationContext<T> ctx
                 = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
 
-            return ctx.proceed();
+            if (metricsService == null && !flightRecorderEnabled)
+            {
+                return ctx.proceed();
+            }
+
+            Object recorded = flightRecorderEnabled ? FlightRecorderEvents.beginInterceptorChain() : null;
+            long start = System.nanoTime();
+            try
+            {
+                return ctx.proceed();
+            }
+            finally
+            {
+                if (metricsService != null)
+                {
+                    metricsService.interceptorChainInvoked(target.getClass(), System.nanoTime() - start);
+                }
+                if (recorded != null)
+                {
+                    FlightRecorderEvents.endInterceptorChain(recorded, target.getClass(), method, methodInterceptors.size());
+                }
+            }
         }
         catch (Exception e)
         {
@@ -164,6 +207,11 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
         Bean<T> bean = (Bean<T>) beanManager.getPassivationCapableBean(beanPassivationId);
+        if (webBeansContext.isMetricsEnabled())
+        {
+            metricsService = webBeansContext.getMetricsService();
+        }
+        flightRecorderEnabled = webBeansContext.isFlightRecorderEnabled();
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(
             webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean),
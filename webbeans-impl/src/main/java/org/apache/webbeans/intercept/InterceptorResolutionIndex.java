@@ -0,0 +1,427 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.AnnotatedConstructor;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Decorator;
+import javax.enterprise.inject.spi.Interceptor;
+
+import org.apache.webbeans.annotation.AnnotationManager;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.decorator.DecoratorsManager;
+import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * Build-time index of the bean classes which have neither an interceptor nor a decorator.
+ *
+ * A first startup with {@link #OUTPUT} set writes the index once the deployment is done.
+ * Packaged as {@link #RESOURCE}, a later startup with {@link #ENABLED} skips the interceptor
+ * resolution of the indexed classes. The index carries a fingerprint of the interceptors and
+ * decorators of the deployment it was recorded for and is ignored when it does not match the
+ * current deployment anymore. Each indexed class also carries a signature of its types and of the
+ * annotations of the type, constructors and methods which can make it intercepted (interceptor bindings,
+ * stereotypes, interceptor and lifecycle callbacks). A class is only skipped when its current
+ * AnnotatedType, after all extensions ran, still has the recorded signature.
+ */
+public class InterceptorResolutionIndex
+{
+    /**
+     * Set to {@code true} to use the {@link #RESOURCE} found in the classpath.
+     */
+    public static final String ENABLED = "org.apache.webbeans.intercept.resolutionIndex";
+
+    /**
+     * File the index of the current deployment gets written to.
+     */
+    public static final String OUTPUT = "org.apache.webbeans.intercept.resolutionIndex.output";
+
+    public static final String RESOURCE = "META-INF/openwebbeans/interceptor-resolution.index";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(InterceptorResolutionIndex.class);
+
+    private static final String FINGERPRINT = "fingerprint=";
+
+    private final WebBeansContext webBeansContext;
+    private final boolean enabled;
+    private final String output;
+
+    private String fingerprint;
+
+    /**
+     * Indexed classes with their signature, only loaded when the fingerprint matches.
+     */
+    private Map<String, String> notIntercepted;
+
+    private Map<String, String> recordedNotIntercepted;
+    private Set<String> recordedIntercepted;
+
+    public InterceptorResolutionIndex(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+        this.enabled = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration().getProperty(ENABLED));
+
+        String configuredOutput = webBeansContext.getOpenWebBeansConfiguration().getProperty(OUTPUT);
+        this.output = configuredOutput == null || configuredOutput.trim().isEmpty() ? null : configuredOutput.trim();
+        if (output != null)
+        {
+            recordedNotIntercepted = new HashMap<>();
+            recordedIntercepted = new HashSet<>();
+        }
+    }
+
+    /**
+     * @return {@code true} if the index states that the given type has no interceptor nor decorator
+     *         and the type did not change since the index got recorded
+     */
+    public boolean isNotIntercepted(AnnotatedType<?> annotatedType)
+    {
+        if (!enabled)
+        {
+            return false;
+        }
+        if (notIntercepted == null)
+        {
+            notIntercepted = load();
+        }
+        String signature = notIntercepted.get(annotatedType.getJavaClass().getName());
+        return signature != null && signature.equals(getSignature(annotatedType));
+    }
+
+    /**
+     * @return an interceptor information equivalent to the calculated one of a class without interceptor and decorator
+     */
+    public BeanInterceptorInfo notInterceptedInfo()
+    {
+        return new BeanInterceptorInfo(Collections.emptyList(), new LinkedHashSet<>(),
+                new ArrayList<>(), new ArrayList<>(),
+                null,
+                new HashMap<>(), new HashMap<>(),
+                new ArrayList<>(), new HashMap<>(),
+                new ArrayList<>());
+    }
+
+    /**
+     * Records the calculated interceptor information of the given type if an {@link #OUTPUT} is configured.
+     * A class is only indexed if none of its types is intercepted or decorated.
+     */
+    public void record(AnnotatedType<?> annotatedType, BeanInterceptorInfo interceptorInfo)
+    {
+        if (output == null)
+        {
+            return;
+        }
+
+        String className = annotatedType.getJavaClass().getName();
+        if (isNotIntercepted(interceptorInfo))
+        {
+            recordedNotIntercepted.put(className, getSignature(annotatedType));
+        }
+        else
+        {
+            recordedIntercepted.add(className);
+        }
+    }
+
+    /**
+     * Writes the recorded index if an {@link #OUTPUT} is configured and drops the loaded one.
+     */
+    public void afterDeployment()
+    {
+        notIntercepted = Collections.emptyMap();
+        if (output == null)
+        {
+            return;
+        }
+
+        Map<String, String> classes = new TreeMap<>(recordedNotIntercepted);
+        classes.keySet().removeAll(recordedIntercepted);
+
+        Path path = Paths.get(output);
+        try
+        {
+            if (path.getParent() != null)
+            {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+            {
+                writer.write(FINGERPRINT + getFingerprint() + '\n');
+                for (Map.Entry<String, String> clazz : classes.entrySet())
+                {
+                    writer.write(clazz.getKey());
+                    writer.write(' ');
+                    writer.write(clazz.getValue());
+                    writer.write('\n');
+                }
+            }
+            logger.info("Wrote the interceptor resolution index of " + classes.size() + " classes to " + path);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Can't write the interceptor resolution index " + path, e);
+        }
+        recordedNotIntercepted.clear();
+        recordedIntercepted.clear();
+    }
+
+    private Map<String, String> load()
+    {
+        Map<String, String> classes = new HashMap<>();
+        try
+        {
+            Enumeration<URL> resources = WebBeansUtil.getCurrentClassLoader().getResources(RESOURCE);
+            while (resources.hasMoreElements())
+            {
+                URL url = resources.nextElement();
+                try (InputStream stream = url.openStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)))
+                {
+                    String header = reader.readLine();
+                    if (header == null || !header.equals(FINGERPRINT + getFingerprint()))
+                    {
+                        logger.info("Ignoring the interceptor resolution index " + url + ", it was recorded for another deployment");
+                        continue;
+                    }
+
+                    String line;
+                    while ((line = reader.readLine()) != null)
+                    {
+                        line = line.trim();
+                        int separator = line.indexOf(' ');
+                        if (separator > 0)
+                        {
+                            classes.put(line.substring(0, separator), line.substring(separator + 1));
+                        }
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Can't read the interceptor resolution index", e);
+            return Collections.emptyMap();
+        }
+        return classes;
+    }
+
+    /**
+     * Digest of everything of the type which can make it intercepted or decorated:
+     * its types and the interception related annotations of the type, constructors and methods.
+     */
+    private String getSignature(AnnotatedType<?> annotatedType)
+    {
+        Set<String> entries = new TreeSet<>();
+        for (Type type : annotatedType.getTypeClosure())
+        {
+            entries.add("type:" + type.getTypeName());
+        }
+        addAnnotations(entries, "class", annotatedType);
+        for (AnnotatedConstructor<?> constructor : annotatedType.getConstructors())
+        {
+            addAnnotations(entries, constructor.getJavaMember().toString(), constructor);
+        }
+        for (AnnotatedMethod<?> method : annotatedType.getMethods())
+        {
+            addAnnotations(entries, method.getJavaMember().toString(), method);
+        }
+        return digest(entries);
+    }
+
+    private void addAnnotations(Set<String> entries, String member, Annotated annotated)
+    {
+        AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
+        for (Annotation annotation : annotated.getAnnotations())
+        {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.getName().startsWith("javax.interceptor.")
+                    || annotationType == PostConstruct.class || annotationType == PreDestroy.class
+                    || annotationType.getName().startsWith("javax.ejb.")
+                    || annotationManager.isInterceptorBindingAnnotation(annotationType)
+                    || annotationManager.isStereoTypeAnnotation(annotationType))
+            {
+                entries.add(member + ':' + render(annotation));
+            }
+        }
+    }
+
+    /**
+     * Renders the annotation with its members independently of the Annotation implementation,
+     * a literal added by an extension renders like the annotation read from the class.
+     */
+    private static String render(Object value)
+    {
+        if (value instanceof Annotation)
+        {
+            Annotation annotation = (Annotation) value;
+            Method[] members = annotation.annotationType().getDeclaredMethods();
+            Set<String> rendered = new TreeSet<>();
+            for (Method member : members)
+            {
+                try
+                {
+                    member.setAccessible(true);
+                    rendered.add(member.getName() + '=' + render(member.invoke(annotation)));
+                }
+                catch (IllegalAccessException | InvocationTargetException e)
+                {
+                    rendered.add(member.getName() + "=?");
+                }
+            }
+            return '@' + annotation.annotationType().getName() + rendered;
+        }
+        if (value instanceof Class)
+        {
+            return ((Class<?>) value).getName();
+        }
+        if (value instanceof Enum)
+        {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof Object[])
+        {
+            StringBuilder builder = new StringBuilder("[");
+            for (Object element : (Object[]) value)
+            {
+                builder.append(render(element)).append(',');
+            }
+            return builder.append(']').toString();
+        }
+        if (value != null && value.getClass().isArray())
+        {
+            return Arrays.deepToString(new Object[]{ value });
+        }
+        return String.valueOf(value);
+    }
+
+    private static boolean isNotIntercepted(BeanInterceptorInfo interceptorInfo)
+    {
+        return interceptorInfo.getDecorators().isEmpty()
+                && interceptorInfo.getEjbInterceptors().isEmpty()
+                && interceptorInfo.getCdiInterceptors().isEmpty()
+                && interceptorInfo.getConstructorCdiInterceptors().isEmpty()
+                && interceptorInfo.getSelfInterceptorBean() == null
+                && interceptorInfo.getBusinessMethodsInfo().isEmpty()
+                && interceptorInfo.getConstructorInterceptorInfos().isEmpty()
+                && interceptorInfo.getLifecycleMethodInterceptorInfos().isEmpty();
+    }
+
+    /**
+     * Digest of the interceptors and decorators of the deployment, with their bindings and enablement.
+     */
+    private String getFingerprint()
+    {
+        if (fingerprint == null)
+        {
+            InterceptorsManager interceptorsManager = webBeansContext.getInterceptorsManager();
+            DecoratorsManager decoratorsManager = webBeansContext.getDecoratorsManager();
+
+            Set<String> entries = new TreeSet<>();
+            for (Interceptor<?> interceptor : interceptorsManager.getCdiInterceptors())
+            {
+                Class<?> beanClass = interceptor.getBeanClass();
+                entries.add("interceptor:" + beanClass.getName() + sorted(interceptor.getInterceptorBindings())
+                        + (interceptorsManager.isInterceptorClassEnabled(beanClass) ? interceptorsManager.getPriority(beanClass) : "disabled"));
+            }
+            for (Decorator<?> decorator : decoratorsManager.getDecorators())
+            {
+                Class<?> beanClass = decorator.getBeanClass();
+                entries.add("decorator:" + beanClass.getName() + ':' + decorator.getDelegateType().getTypeName()
+                        + sorted(decorator.getDelegateQualifiers())
+                        + decorator.getDecoratedTypes().stream().map(Type::getTypeName).sorted().collect(Collectors.toList())
+                        + decoratorsManager.isDecoratorEnabled(beanClass));
+            }
+
+            fingerprint = digest(entries);
+        }
+        return fingerprint;
+    }
+
+    private static String digest(Set<String> entries)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String entry : entries)
+            {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest())
+            {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sorted(Collection<Annotation> annotations)
+    {
+        Set<String> values = new TreeSet<>();
+        for (Annotation annotation : annotations)
+        {
+            values.add(annotation.toString());
+        }
+        return values.toString();
+    }
+}
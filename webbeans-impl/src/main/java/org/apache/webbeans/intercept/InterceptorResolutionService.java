@@ -30,7 +30,6 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
-import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
@@ -125,7 +124,7 @@ public class InterceptorResolutionService
         List<Interceptor<?>> classLevelInterceptors;
         if (classInterceptorBindings.size() > 0)
         {
-            classLevelInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(InterceptionType.AROUND_INVOKE, AnnotationUtil.asArray(classInterceptorBindings));
+            classLevelInterceptors = webBeansContext.getInterceptorsManager().resolveInterceptors(InterceptionType.AROUND_INVOKE, AnnotationUtil.asArray(classInterceptorBindings));
             allUsedCdiInterceptors.addAll(classLevelInterceptors);
         }
         else
@@ -277,15 +276,15 @@ public class InterceptorResolutionService
                                                       Set<Interceptor<?>> allUsedCdiInterceptors,
                                                       Set<Interceptor<?>> allUsedConstructorCdiInterceptors)
     {
-        BeanManagerImpl beanManagerImpl = webBeansContext.getBeanManagerImpl();
+        InterceptorsManager interceptorsManager = webBeansContext.getInterceptorsManager();
 
         Annotation[] interceptorBindings = null;
         if (classInterceptorBindings.size() > 0)
         {
             interceptorBindings = AnnotationUtil.asArray(classInterceptorBindings);
 
-            allUsedCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.POST_CONSTRUCT, interceptorBindings));
-            allUsedCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.PRE_DESTROY, interceptorBindings));
+            allUsedCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.POST_CONSTRUCT, interceptorBindings));
+            allUsedCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.PRE_DESTROY, interceptorBindings));
         }
 
         AnnotatedConstructor<?> constructorToUse = webBeansContext.getWebBeansUtil().getInjectedConstructor(annotatedType);
@@ -317,12 +316,12 @@ public class InterceptorResolutionService
             }
             if (!constructorAnnot.isEmpty())
             {
-                allUsedConstructorCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, AnnotationUtil.asArray(constructorAnnot)));
+                allUsedConstructorCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, AnnotationUtil.asArray(constructorAnnot)));
             }
         }
         else if (interceptorBindings != null)
         {
-            allUsedConstructorCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, interceptorBindings));
+            allUsedConstructorCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, interceptorBindings));
         }
         allUsedCdiInterceptors.addAll(allUsedConstructorCdiInterceptors);
     }
@@ -644,7 +643,7 @@ public class InterceptorResolutionService
         List<Interceptor<?>> methodInterceptors;
         if (hasMethodInterceptors || classLevelInterceptors == null)
         {
-            methodInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(interceptionType, AnnotationUtil.asArray(cummulatedInterceptorBindings.values()));
+            methodInterceptors = webBeansContext.getInterceptorsManager().resolveInterceptors(interceptionType, AnnotationUtil.asArray(cummulatedInterceptorBindings.values()));
             allUsedCdiInterceptors.addAll(methodInterceptors);
         }
         else
@@ -862,7 +861,12 @@ public class InterceptorResolutionService
                         new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        DefaultInterceptorHandler<T> interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        if (webBeansContext.isMetricsEnabled())
+        {
+            interceptorHandler.setMetricsService(webBeansContext.getMetricsService());
+        }
+        interceptorHandler.setFlightRecorderEnabled(webBeansContext.isFlightRecorderEnabled());
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
     }
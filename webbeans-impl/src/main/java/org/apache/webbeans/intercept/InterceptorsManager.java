@@ -60,8 +60,9 @@ public class InterceptorsManager
 
     /**
      * Active CDI-style interceptors.
+     * Interceptors can get added at runtime while others get resolved.
      */
-    private List<Interceptor<?>> cdiInterceptors = new ArrayList<>();
+    private List<Interceptor<?>> cdiInterceptors = new CopyOnWriteArrayList<>();
 
     /**
      * EJB-style Interceptor beans.
@@ -81,6 +82,13 @@ public class InterceptorsManager
 
     private final PriorityClasses priorityInterceptors = new PriorityClasses();
 
+    /**
+     * Resolved interceptors per interception type and binding set, most methods share a few binding combinations.
+     * Replaced each time the interceptor configuration changes, so resolutions still running
+     * against the previous interceptors don't fill the new map.
+     */
+    private volatile ConcurrentMap<ResolutionKey, List<Interceptor<?>>> resolvedInterceptors = new ConcurrentHashMap<>();
+
 
     public InterceptorsManager(WebBeansContext webBeansContext)
     {
@@ -100,6 +108,7 @@ public class InterceptorsManager
         cdiInterceptors.clear();
         ejbInterceptors.clear();
         priorityInterceptors.clear();
+        resolvedInterceptors = new ConcurrentHashMap<>();
     }
 
 
@@ -113,6 +122,7 @@ public class InterceptorsManager
         if (!configuredInterceptorClasses.contains(interceptorClazz))
         {
             configuredInterceptorClasses.add(interceptorClazz);
+            resolvedInterceptors = new ConcurrentHashMap<>();
         }
     }
 
@@ -202,7 +212,24 @@ public class InterceptorsManager
                 || priorityInterceptors.contains(interceptorClazz);
     }
 
+    /**
+     * @return the enabled interceptors for the given bindings, sorted. The returned list is shared and immutable.
+     */
     public List<Interceptor<?>> resolveInterceptors(InterceptionType type, Annotation... interceptorBindings)
+    {
+        ResolutionKey key = new ResolutionKey(type, interceptorBindings);
+        ConcurrentMap<ResolutionKey, List<Interceptor<?>>> resolvedInterceptors = this.resolvedInterceptors;
+        List<Interceptor<?>> interceptors = resolvedInterceptors.get(key);
+        if (interceptors == null)
+        {
+            interceptors = doResolveInterceptors(type, interceptorBindings);
+            interceptors = interceptors.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(interceptors);
+            resolvedInterceptors.putIfAbsent(key, interceptors);
+        }
+        return interceptors;
+    }
+
+    private List<Interceptor<?>> doResolveInterceptors(InterceptionType type, Annotation... interceptorBindings)
     {
         List<Interceptor<?>> interceptorList = new ArrayList<>();
         for (Interceptor<?> interceptor : cdiInterceptors)
@@ -282,6 +309,7 @@ public class InterceptorsManager
     public void addCdiInterceptor(Interceptor interceptor)
     {
         cdiInterceptors.add(interceptor);
+        resolvedInterceptors = new ConcurrentHashMap<>();
         beanManager.addPassivationInfo(interceptor);
     }
 
@@ -306,12 +334,14 @@ public class InterceptorsManager
     public void addInterceptorBindingType(AnnotatedType<? extends Annotation> annotatedType)
     {
         additionalInterceptorBindingTypesAnnotatedTypes.add(annotatedType);
+        resolvedInterceptors = new ConcurrentHashMap<>();
     }
 
     public void addInterceptorBindingType(Class<? extends Annotation> bindingType, Annotation... inheritsArray)
     {
         Set<Annotation> inherits = additionalInterceptorBindingTypes.computeIfAbsent(bindingType, k -> new HashSet<>());
         Collections.addAll(inherits, inheritsArray);
+        resolvedInterceptors = new ConcurrentHashMap<>();
     }
 
     public boolean hasInterceptorBindingType(Class<? extends Annotation> bindingType)
@@ -360,5 +390,72 @@ public class InterceptorsManager
     public void addPriorityClazzInterceptor(Class<?> javaClass, int priority)
     {
         priorityInterceptors.add(javaClass, priority);
+        resolvedInterceptors = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Binding order does not matter for the resolution so the bindings are compared as a set.
+     */
+    private static final class ResolutionKey
+    {
+        private final InterceptionType type;
+        private final Annotation[] bindings;
+        private final int hash;
+
+        private ResolutionKey(InterceptionType type, Annotation[] bindings)
+        {
+            this.type = type;
+            this.bindings = bindings;
+
+            int bindingsHash = 0;
+            for (Annotation binding : bindings)
+            {
+                bindingsHash += binding.hashCode();
+            }
+            hash = 31 * type.hashCode() + bindingsHash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ResolutionKey))
+            {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) o;
+            return hash == other.hash && type == other.type && sameBindings(bindings, other.bindings)
+                    && sameBindings(other.bindings, bindings);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        private static boolean sameBindings(Annotation[] bindings, Annotation[] others)
+        {
+            for (Annotation binding : bindings)
+            {
+                boolean found = false;
+                for (Annotation other : others)
+                {
+                    if (binding.equals(other))
+                    {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
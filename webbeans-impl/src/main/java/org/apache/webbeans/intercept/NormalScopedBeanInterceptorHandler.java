@@ -30,6 +30,8 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.ContextAccessor;
 
 /**
  * <p>A Provider which handles all NormalScoped proxying.
@@ -49,6 +51,11 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
     private transient BeanManager beanManager;
     protected transient Bean<?> bean;
 
+    /**
+     * Accessor of the context of the bean scope, looked up once from the BeanManagerImpl.
+     */
+    private transient ContextAccessor contextAccessor;
+
     /**
      * The passivation if in case this is a {@link PassivationCapable} bean.
      * we just keep this field for serializing it away
@@ -83,10 +90,13 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
 
     protected Object getContextualInstance()
     {
-        Object webbeansInstance;
-
         //Context of the bean
-        Context context = beanManager.getContext(bean.getScope());
+        return getContextualInstance(getContext());
+    }
+
+    protected Object getContextualInstance(Context context)
+    {
+        Object webbeansInstance;
 
         //Already saved in context?
         webbeansInstance = context.get(bean);
@@ -107,6 +117,25 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         return webbeansInstance;
     }
 
+    /**
+     * @return the active context of the bean scope
+     */
+    protected Context getContext()
+    {
+        ContextAccessor accessor = contextAccessor;
+        if (accessor == null)
+        {
+            if (!(beanManager instanceof BeanManagerImpl))
+            {
+                return beanManager.getContext(bean.getScope());
+            }
+
+            accessor = ((BeanManagerImpl) beanManager).getContextAccessor(bean.getScope());
+            contextAccessor = accessor;
+        }
+        return accessor.get();
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
@@ -121,6 +150,7 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
     {
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
         beanManager = webBeansContext.getBeanManagerImpl();
+        contextAccessor = null;
         bean = beanManager.getPassivationCapableBean(beanPassivationId);
         if (bean == null)
         {
@@ -18,18 +18,22 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.RequestContext;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per request,
+ * the instance gets cached on the {@link RequestContext} itself. Every bean got a dense slot index
+ * from the {@link BeanManagerImpl}, so resolving the instance is a lookup of the current context
+ * followed by an array load. The cache goes away together with the request context.</p>
  */
 public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
@@ -37,15 +41,20 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     private static final long serialVersionUID = 1L;
 
     /**
-     * Cached bean instance for each thread
+     * Slot of the bean instance in the {@link RequestContext}, -1 if the instances can't be cached.
+     * The handler gets replaced on deserialisation, so this doesn't need to get restored.
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
+    private final transient int slot;
 
 
+    /**
+     * The instances are cached on the request context now, there are no ThreadLocals to clean up anymore.
+     * @deprecated kept for integrations which still invoke it, it's a no-op
+     */
+    @Deprecated
     public static void removeThreadLocals()
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        // no-op
     }
 
     /**
@@ -54,6 +63,7 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     public RequestScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         super(beanManager, bean);
+        slot = beanManager instanceof BeanManagerImpl ? ((BeanManagerImpl) beanManager).getRequestScopedSlot(bean) : -1;
     }
     
     /**
@@ -62,19 +72,23 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     @Override
     protected Object getContextualInstance()
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
+        if (slot < 0)
         {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
+            return super.getContextualInstance();
         }
 
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
+        Context context = getContext();
+        if (!(context instanceof RequestContext))
         {
+            return getContextualInstance(context);
+        }
 
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
+        RequestContext requestContext = (RequestContext) context;
+        Object cachedInstance = requestContext.getCachedInstance(slot);
+        if (cachedInstance == null)
+        {
+            cachedInstance = getContextualInstance(context);
+            requestContext.setCachedInstance(slot, cachedInstance);
         }
 
         return cachedInstance;
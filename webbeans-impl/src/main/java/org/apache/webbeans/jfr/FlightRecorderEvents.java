@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jfr;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.spi.Bean;
+
+/**
+ * Emits the OpenWebBeans Java Flight Recorder events.
+ *
+ * Callers shall only begin an event if
+ * {@link org.apache.webbeans.config.WebBeansContext#isFlightRecorderEnabled()},
+ * so the {@code jdk.jfr} classes never get loaded otherwise. A begin method returns
+ * {@code null} if the event is not recorded right now. Callers only invoke the matching
+ * end method for a non {@code null} event, so this class is not even loaded with the
+ * recorder disabled, the end methods still ignore a {@code null} event.
+ *
+ * The bundle imports {@code jdk.jfr} optionally, {@link #isAvailable()} guards
+ * runtimes which do not provide it.
+ */
+public final class FlightRecorderEvents
+{
+    /**
+     * Set to true to emit the OpenWebBeans JFR events.
+     */
+    public static final String ENABLED = "org.apache.webbeans.jfr.enabled";
+
+    private FlightRecorderEvents()
+    {
+        // utility class
+    }
+
+    /**
+     * @return whether the running JVM provides the {@code jdk.jfr} API
+     */
+    public static boolean isAvailable()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+
+    public static Object beginInstanceCreation()
+    {
+        InstanceCreationEvent event = new InstanceCreationEvent();
+        if (!event.isEnabled())
+        {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endInstanceCreation(Object recorded, Bean<?> bean)
+    {
+        if (recorded == null)
+        {
+            return;
+        }
+        InstanceCreationEvent event = (InstanceCreationEvent) recorded;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.beanClass = bean.getBeanClass();
+            event.scope = bean.getScope().getName();
+            event.commit();
+        }
+    }
+
+    public static Object beginContext()
+    {
+        ContextEvent event = new ContextEvent();
+        if (!event.isEnabled())
+        {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endContext(Object recorded, Class<? extends Annotation> scope, boolean started)
+    {
+        if (recorded == null)
+        {
+            return;
+        }
+        ContextEvent event = (ContextEvent) recorded;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.scope = scope.getName();
+            event.started = started;
+            event.commit();
+        }
+    }
+
+    public static Object beginEventFire()
+    {
+        EventFireEvent event = new EventFireEvent();
+        if (!event.isEnabled())
+        {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endEventFire(Object recorded, Object cdiEvent, int observers, boolean async)
+    {
+        if (recorded == null)
+        {
+            return;
+        }
+        EventFireEvent event = (EventFireEvent) recorded;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.eventClass = cdiEvent.getClass();
+            event.observers = observers;
+            event.async = async;
+            event.commit();
+        }
+    }
+
+    public static Object beginInterceptorChain()
+    {
+        InterceptorChainEvent event = new InterceptorChainEvent();
+        if (!event.isEnabled())
+        {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endInterceptorChain(Object recorded, Class<?> targetClass, Method method, int interceptors)
+    {
+        if (recorded == null)
+        {
+            return;
+        }
+        InterceptorChainEvent event = (InterceptorChainEvent) recorded;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.targetClass = targetClass;
+            event.method = method.getName();
+            event.interceptors = interceptors;
+            event.commit();
+        }
+    }
+
+    public static Object beginProxyGeneration()
+    {
+        ProxyGenerationEvent event = new ProxyGenerationEvent();
+        if (!event.isEnabled())
+        {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endProxyGeneration(Object recorded, String proxyFactory, Class<?> proxiedClass)
+    {
+        if (recorded == null)
+        {
+            return;
+        }
+        ProxyGenerationEvent event = (ProxyGenerationEvent) recorded;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.proxyFactory = proxyFactory;
+            event.proxiedClass = proxiedClass;
+            event.commit();
+        }
+    }
+}
@@ -61,6 +61,9 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
     private final BeanManagerImpl beanManager;
     protected final WebBeansContext webBeansContext;
 
+    /**Checkpoint/restore hook, null if CRaC is not available*/
+    private CracResource cracResource;
+
     protected AbstractLifeCycle()
     {
         this(null);
@@ -139,6 +142,8 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         //Start actual starting on sub-classes
         afterStartApplication(startupObject);
 
+        cracResource = CracResource.register(webBeansContext, contextsService, scannerService);
+
         if (logger.isLoggable(Level.INFO))
         {
             logger.log(Level.INFO, OWBLogConst.INFO_0001, Long.toString(System.currentTimeMillis() - begin));
@@ -154,6 +159,15 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
         try
         {
+            if (cracResource != null)
+            {
+                cracResource.close();
+                cracResource = null;
+            }
+
+            // no background deployment work may run against the stopping container
+            deployer.shutdown();
+
             //Sub-classes operations            
             beforeStopApplication(endObject);
 
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.lifecycle;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.ScannerService;
+
+/**
+ * Coordinated Restore at Checkpoint (CRaC) integration of a started container.
+ *
+ * Before a checkpoint it holds the asynchronous observer deliveries of the default executor
+ * (waiting for the running ones), drops the contexts bound to the checkpointing thread and
+ * releases what the scanner still holds. After the restore the held deliveries are submitted again,
+ * the contexts get bound again by the {@link ContextsService} on the next request/startContext.
+ *
+ * The CRaC API ({@code org.crac} library or {@code jdk.crac} module) is not a dependency,
+ * {@link #register(WebBeansContext, ContextsService, ScannerService)} binds to it reflectively
+ * when it is available and {@link #beforeCheckpoint()}/{@link #afterRestore()} can be called
+ * directly by integrations driving the checkpoint themselves.
+ */
+public class CracResource implements InvocationHandler
+{
+    /**
+     * Set to {@code false} to not register the container as a CRaC resource.
+     */
+    public static final String ENABLED = "org.apache.webbeans.crac.enabled";
+
+    /**
+     * Maximum time in milliseconds to wait for the running asynchronous observers before a checkpoint.
+     */
+    public static final String ASYNC_TIMEOUT = "org.apache.webbeans.crac.asyncTimeout";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(CracResource.class);
+
+    private static final String[] APIS = { "org.crac", "jdk.crac" };
+
+    private final WebBeansContext webBeansContext;
+    private final ContextsService contextsService;
+    private final ScannerService scannerService;
+    private final long asyncTimeout;
+
+    private volatile boolean active = true;
+
+    /**
+     * The registered CRaC resource, CRaC contexts only keep weak references so we hold it.
+     */
+    private Object resource;
+
+    public CracResource(WebBeansContext webBeansContext, ContextsService contextsService, ScannerService scannerService)
+    {
+        this.webBeansContext = webBeansContext;
+        this.contextsService = contextsService;
+        this.scannerService = scannerService;
+        this.asyncTimeout = Long.parseLong(
+                webBeansContext.getOpenWebBeansConfiguration().getProperty(ASYNC_TIMEOUT, "10000"));
+    }
+
+    /**
+     * @return the registered resource or {@code null} if CRaC is not available or disabled.
+     */
+    public static CracResource register(WebBeansContext webBeansContext, ContextsService contextsService,
+                                        ScannerService scannerService)
+    {
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        if ("false".equalsIgnoreCase(configuration.getProperty(ENABLED)))
+        {
+            return null;
+        }
+
+        ClassLoader loader = CracResource.class.getClassLoader();
+        for (String api : APIS)
+        {
+            Class<?> resourceApi;
+            Method getGlobalContext;
+            try
+            {
+                resourceApi = Class.forName(api + ".Resource", false, loader);
+                getGlobalContext = Class.forName(api + ".Core", false, loader).getMethod("getGlobalContext");
+            }
+            catch (ClassNotFoundException | NoSuchMethodException | LinkageError e)
+            {
+                continue;
+            }
+
+            try
+            {
+                CracResource cracResource = new CracResource(webBeansContext, contextsService, scannerService);
+                cracResource.resource = Proxy.newProxyInstance(
+                        resourceApi.getClassLoader() == null ? loader : resourceApi.getClassLoader(),
+                        new Class<?>[]{ resourceApi }, cracResource);
+                getGlobalContext.getReturnType().getMethod("register", resourceApi)
+                        .invoke(getGlobalContext.invoke(null), cracResource.resource);
+                logger.fine("Registered OpenWebBeans as a " + api + " resource");
+                return cracResource;
+            }
+            catch (Exception e)
+            {
+                logger.log(Level.WARNING, "Can't register OpenWebBeans as a " + api + " resource", e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public void beforeCheckpoint()
+    {
+        if (!active)
+        {
+            return;
+        }
+
+        if (!webBeansContext.getNotificationManager().suspendAsyncDelivery(asyncTimeout, TimeUnit.MILLISECONDS))
+        {
+            logger.warning("Some asynchronous observers are still running after " + asyncTimeout + "ms, " +
+                    "they will be part of the checkpoint");
+        }
+        contextsService.removeThreadLocals();
+        scannerService.release();
+    }
+
+    public void afterRestore()
+    {
+        if (!active)
+        {
+            return;
+        }
+
+        webBeansContext.getNotificationManager().resumeAsyncDelivery();
+    }
+
+    /**
+     * Deactivates this resource when the container stops, CRaC has no way to unregister it.
+     */
+    public void close()
+    {
+        active = false;
+        resource = null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName())
+        {
+            case "beforeCheckpoint":
+                beforeCheckpoint();
+                return null;
+            case "afterRestore":
+                afterRestore();
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "OpenWebBeansCracResource[active=" + active + "]";
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.logger;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * A log message pattern which got parsed once.
+ *
+ * Patterns only using plain {@code {n}} placeholders get formatted by concatenation,
+ * which gives the same result as {@link MessageFormat} for non numeric and non date arguments.
+ * Everything else, quotes, format types and styles or such arguments, still goes through
+ * {@link MessageFormat}.
+ */
+public final class MessageTemplate
+{
+    private final String pattern;
+
+    /**
+     * The text between the placeholders, one more than {@link #indexes}.
+     * {@code null} if the pattern needs a {@link MessageFormat}.
+     */
+    private final String[] literals;
+    private final int[] indexes;
+
+    private MessageTemplate(String pattern, String[] literals, int[] indexes)
+    {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.indexes = indexes;
+    }
+
+    public static MessageTemplate compile(String pattern)
+    {
+        if (pattern.indexOf('\'') >= 0)
+        {
+            return new MessageTemplate(pattern, null, null);
+        }
+
+        int placeholders = 0;
+        for (int i = pattern.indexOf('{'); i >= 0; i = pattern.indexOf('{', i + 1))
+        {
+            placeholders++;
+        }
+        String[] literals = new String[placeholders + 1];
+        int[] indexes = new int[placeholders];
+
+        int start = 0;
+        for (int i = 0; i < placeholders; i++)
+        {
+            int open = pattern.indexOf('{', start);
+            int close = pattern.indexOf('}', open);
+            if (close < 0 || close == open + 1 || close - open > 10)
+            {
+                return new MessageTemplate(pattern, null, null);
+            }
+            int index = 0;
+            for (int c = open + 1; c < close; c++)
+            {
+                char digit = pattern.charAt(c);
+                if (digit < '0' || digit > '9')
+                {
+                    return new MessageTemplate(pattern, null, null);
+                }
+                index = index * 10 + digit - '0';
+            }
+            literals[i] = pattern.substring(start, open);
+            indexes[i] = index;
+            start = close + 1;
+        }
+        literals[placeholders] = pattern.substring(start);
+        return new MessageTemplate(pattern, literals, indexes);
+    }
+
+    public String getPattern()
+    {
+        return pattern;
+    }
+
+    public String format(Object... args)
+    {
+        if (literals == null)
+        {
+            return new MessageFormat(pattern, Locale.getDefault()).format(args);
+        }
+        if (indexes.length == 0)
+        {
+            return pattern;
+        }
+
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * indexes.length);
+        for (int i = 0; i < indexes.length; i++)
+        {
+            builder.append(literals[i]);
+            int index = indexes[i];
+            if (args == null || index >= args.length)
+            {
+                builder.append('{').append(index).append('}');
+                continue;
+            }
+            Object arg = args[index];
+            if (arg instanceof Number || arg instanceof Date)
+            {
+                // locale specific formatting
+                return new MessageFormat(pattern, Locale.getDefault()).format(args);
+            }
+            builder.append(arg);
+        }
+        return builder.append(literals[indexes.length]).toString();
+    }
+}
@@ -26,11 +26,11 @@ import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.util.WebBeansConstants;
 
 import javax.annotation.Priority;
-import java.text.MessageFormat;
 import java.util.Locale;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.StreamSupport;
@@ -55,6 +55,12 @@ public final class WebBeansLoggerFacade
 
     static final ResourceBundle WB_BUNDLE = ResourceBundle.getBundle(WebBeansConstants.WEB_BEANS_MESSAGES);
 
+    /**
+     * Parsed messages of the bundle keys. Plain messages are often concatenated by the callers,
+     * they are parsed on each call instead of filling the cache with one-off strings.
+     */
+    private static final ConcurrentMap<String, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     static
     {
         String factoryClassname = System.getProperty(OPENWEBBEANS_LOGGING_FACTORY_PROP);
@@ -122,37 +128,47 @@ public final class WebBeansLoggerFacade
 
     public static String constructMessage(String messageKey, Object... args)
     {
-        MessageFormat msgFrmt;
-        String formattedString;
+        return getMessageTemplate(messageKey).format(args);
+    }
 
-        msgFrmt = new MessageFormat(getTokenString(messageKey), Locale.getDefault());
-        formattedString = msgFrmt.format(args);
+    /**
+     * @param messageKey a key of the OpenWebBeans message bundle or the message itself
+     * @return the parsed message of the default locale
+     */
+    public static MessageTemplate getMessageTemplate(String messageKey)
+    {
+        MessageTemplate template = TEMPLATES.get(messageKey);
+        if (template == null)
+        {
+            if (WB_BUNDLE == null)
+            {
+                throw new IllegalStateException("ResourceBundle can not be null");
+            }
+            if (!WB_BUNDLE.containsKey(messageKey))
+            {
+                return MessageTemplate.compile(messageKey);
+            }
 
-        return formattedString;
+            // the bundle keys are a bounded set
+            template = MessageTemplate.compile(WB_BUNDLE.getString(messageKey));
+            TEMPLATES.putIfAbsent(messageKey, template);
+        }
+        return template;
     }
 
     public static String getTokenString(String messageKey)
     {
-        String strVal;
-
         if (WB_BUNDLE == null)
         {
             throw new IllegalStateException("ResourceBundle can not be null");
         }
-        try
-        {
-            strVal = WB_BUNDLE.getString(messageKey);
-        }
-        catch (MissingResourceException mre)
-        {
-            strVal = null;
-        }
-        if (strVal == null)
+
+        // containsKey avoids a MissingResourceException for plain messages
+        if (!WB_BUNDLE.containsKey(messageKey))
         {
             return messageKey;
         }
-
-        return strVal;
+        return WB_BUNDLE.getString(messageKey);
     }
 
     // helper method
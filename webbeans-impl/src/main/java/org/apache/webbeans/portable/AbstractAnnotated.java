@@ -54,8 +54,10 @@ public abstract class AbstractAnnotated implements Annotated
     private Set<Type> typeClosures;
 
     /**Set of annotations*/
-    private Set<Annotation> annotations = new HashSet<>();
-    private Set<Class<?>> repeatables = new HashSet<>();
+    private final AnnotationSet annotations = new AnnotationSet();
+
+    /**Types of the repeated annotations, only allocated when there are some*/
+    private Set<Class<?>> repeatables = Collections.emptySet();
 
     private final WebBeansContext webBeansContext;
     
@@ -86,7 +88,15 @@ public abstract class AbstractAnnotated implements Annotated
         this.webBeansContext = webBeansContext;
 
         this.typeClosures = annotated.getTypeClosure();
-        this.annotations.addAll(annotated.getAnnotations());
+        if (annotated instanceof AbstractAnnotated)
+        {
+            // copy on write, no need to copy the annotations until one side changes them
+            this.annotations.setAll(((AbstractAnnotated) annotated).annotations);
+        }
+        else
+        {
+            this.annotations.addAll(annotated.getAnnotations());
+        }
     }
 
     protected void buildRepeatableAnnotations(Set<Annotation> annotations)
@@ -126,6 +136,10 @@ public abstract class AbstractAnnotated implements Annotated
         }
         if (repeatables != null && !repeatables.isEmpty())
         {
+            if (this.repeatables.isEmpty())
+            {
+                this.repeatables = new HashSet<>();
+            }
             this.repeatables.addAll(repeatables.stream().map(Annotation::annotationType).collect(toList()));
             this.annotations.addAll(repeatables);
         }
@@ -153,14 +167,13 @@ public abstract class AbstractAnnotated implements Annotated
     }
 
     /**
-     * Adds new annotation to set.
+     * Replaces the annotations, the given array is taken over as it is.
      * 
      * @param annotations new annotations
      */
     protected void setAnnotations(Annotation[] annotations)
     {        
-        clearAnnotations();
-        Collections.addAll(this.annotations, annotations);
+        this.annotations.setAll(annotations);
         buildRepeatableAnnotations(this.annotations);
     }
 
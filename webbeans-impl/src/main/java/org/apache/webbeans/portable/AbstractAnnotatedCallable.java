@@ -49,6 +49,10 @@ public abstract class AbstractAnnotatedCallable<X> extends AbstractAnnotatedMemb
     
     protected void setAnnotatedParameters(Type[] genericParameterTypes,Annotation[][] parameterAnnotations)
     {
+        if (genericParameterTypes.length > 0 && annotatedParameters.isEmpty())
+        {
+            annotatedParameters = new ArrayList<>(genericParameterTypes.length);
+        }
         int i = 0;
         
         for(Type genericParameter : genericParameterTypes)
@@ -54,6 +54,13 @@ public abstract class AbstractProducer<T> implements Producer<T>
     protected InterceptorDecoratorProxyFactory proxyFactory;
     protected Map<Method, List<Interceptor<?>>> methodInterceptors;
 
+    /**
+     * Interceptor stack definition postponed to the first usage of this producer, null once defined.
+     * @see #deferInterceptorStack(Bean, AnnotatedType, WebBeansContext)
+     */
+    private volatile Runnable deferredInterceptorStack;
+    private boolean definingInterceptorStack;
+
     public AbstractProducer()
     {
         this(Collections.<InjectionPoint>emptySet());
@@ -81,8 +88,18 @@ public abstract class AbstractProducer<T> implements Producer<T>
             return;
         }
 
-        interceptorInfo = webBeansContext.getInterceptorResolutionService().
-                calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false);
+        defineInterceptorStack(bean, annotatedType, webBeansContext, webBeansContext.getInterceptorResolutionService().
+                calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false));
+    }
+
+    /**
+     * Same as {@link #defineInterceptorStack(Bean, AnnotatedType, WebBeansContext)} with an already
+     * calculated interceptor information.
+     */
+    public void defineInterceptorStack(Bean<T> bean, AnnotatedType<T> annotatedType, WebBeansContext webBeansContext,
+                                       BeanInterceptorInfo interceptorInfo)
+    {
+        this.interceptorInfo = interceptorInfo;
         proxyFactory = webBeansContext.getInterceptorDecoratorProxyFactory();
         if (bean instanceof PassivationCapable)
         {
@@ -115,6 +132,44 @@ public abstract class AbstractProducer<T> implements Producer<T>
         }
     }
 
+    /**
+     * Same as {@link #defineInterceptorStack(Bean, AnnotatedType, WebBeansContext)} but the interceptor
+     * and decorator resolution as well as the proxy class generation only happen on the first usage
+     * of this producer or when {@link #ensureInterceptorStack()} is called.
+     */
+    public void deferInterceptorStack(Bean<T> bean, AnnotatedType<T> annotatedType, WebBeansContext webBeansContext)
+    {
+        deferredInterceptorStack = () -> defineInterceptorStack(bean, annotatedType, webBeansContext);
+    }
+
+    /**
+     * Defines the interceptor stack if it was deferred and not yet defined.
+     */
+    public void ensureInterceptorStack()
+    {
+        if (deferredInterceptorStack == null)
+        {
+            return;
+        }
+        synchronized (this)
+        {
+            Runnable definition = deferredInterceptorStack;
+            if (definition != null && !definingInterceptorStack) // the definition itself reads the interceptor info
+            {
+                definingInterceptorStack = true;
+                try
+                {
+                    definition.run();
+                    deferredInterceptorStack = null;
+                }
+                finally
+                {
+                    definingInterceptorStack = false;
+                }
+            }
+        }
+    }
+
     @Override
     public Set<InjectionPoint> getInjectionPoints()
     {
@@ -123,12 +178,15 @@ public abstract class AbstractProducer<T> implements Producer<T>
 
     public BeanInterceptorInfo getInterceptorInfo()
     {
+        ensureInterceptorStack();
         return interceptorInfo;
     }
 
     @Override
     public T produce(CreationalContext<T> creationalContext)
     {
+        ensureInterceptorStack();
+
         CreationalContextImpl<T> creationalContextImpl = (CreationalContextImpl<T>) creationalContext;
 
         Contextual<T> oldContextual = creationalContextImpl.getContextual();
@@ -165,11 +223,13 @@ public abstract class AbstractProducer<T> implements Producer<T>
     
     protected InterceptorDecoratorProxyFactory getProxyFactory()
     {
+        ensureInterceptorStack();
         return proxyFactory;
     }
 
     protected Map<Method, List<Interceptor<?>>> getMethodInterceptors()
     {
+        ensureInterceptorStack();
         return methodInterceptors;
     }
     
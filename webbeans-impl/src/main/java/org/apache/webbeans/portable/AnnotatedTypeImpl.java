@@ -260,10 +260,6 @@ public class AnnotatedTypeImpl<X>
             Set<AnnotatedField<? super X>> fields = new HashSet<>();
             Set<AnnotatedMethod<? super X>> methods = new HashSet<>();
 
-            this.constructors = Collections.unmodifiableSet(constructors);
-            this.fields = Collections.unmodifiableSet(fields);
-            this.methods = Collections.unmodifiableSet(methods);
-
             for (Constructor<?> ct : decCtxs)
             {
                 if (!ct.isSynthetic())
@@ -319,6 +315,15 @@ public class AnnotatedTypeImpl<X>
                 }
             }
 
+            this.constructors = compact(constructors);
+            this.fields = compact(fields);
+            this.methods = compact(methods);
+        }
+
+        private <T> Set<T> compact(Set<T> members)
+        {
+            // types without fields or methods share the empty set
+            return members.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(members);
         }
 
         /**
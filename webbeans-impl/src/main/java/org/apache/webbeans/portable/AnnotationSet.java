@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.portable;
+
+import java.lang.annotation.Annotation;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Array backed set of the annotations of an {@link AbstractAnnotated}.
+ *
+ * Annotated elements usually carry none or a handful of annotations, a plain array
+ * is smaller and faster to scan than a HashSet for that.
+ * The array is never modified in place: every change creates a new one, so
+ * copies of an annotated element share the array until one of them gets changed.
+ */
+final class AnnotationSet extends AbstractSet<Annotation>
+{
+    private static final Annotation[] EMPTY = new Annotation[0];
+
+    private Annotation[] annotations = EMPTY;
+
+    AnnotationSet()
+    {
+        // empty
+    }
+
+    /**
+     * Takes over the given array, the caller must not modify it anymore.
+     */
+    void setAll(Annotation[] newAnnotations)
+    {
+        annotations = newAnnotations.length == 0 ? EMPTY : newAnnotations;
+    }
+
+    /**
+     * Shares the annotations of the given set.
+     */
+    void setAll(AnnotationSet other)
+    {
+        annotations = other.annotations;
+    }
+
+    @Override
+    public int size()
+    {
+        return annotations.length;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return indexOf(annotations, o) >= 0;
+    }
+
+    @Override
+    public boolean add(Annotation annotation)
+    {
+        Annotation[] current = annotations;
+        if (indexOf(current, annotation) >= 0)
+        {
+            return false;
+        }
+        Annotation[] newAnnotations = Arrays.copyOf(current, current.length + 1);
+        newAnnotations[current.length] = annotation;
+        annotations = newAnnotations;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Annotation> toAdd)
+    {
+        if (annotations.length == 0 && toAdd instanceof AnnotationSet)
+        {
+            setAll((AnnotationSet) toAdd);
+            return annotations.length > 0;
+        }
+        return super.addAll(toAdd);
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        int index = indexOf(annotations, o);
+        if (index < 0)
+        {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear()
+    {
+        annotations = EMPTY;
+    }
+
+    @Override
+    public Iterator<Annotation> iterator()
+    {
+        return new Iterator<Annotation>()
+        {
+            private final Annotation[] snapshot = annotations;
+            private int next;
+            private Annotation last;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < snapshot.length;
+            }
+
+            @Override
+            public Annotation next()
+            {
+                if (next >= snapshot.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                last = snapshot[next++];
+                return last;
+            }
+
+            @Override
+            public void remove()
+            {
+                if (last == null)
+                {
+                    throw new IllegalStateException();
+                }
+                AnnotationSet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private void removeAt(int index)
+    {
+        Annotation[] current = annotations;
+        if (current.length == 1)
+        {
+            annotations = EMPTY;
+            return;
+        }
+        Annotation[] newAnnotations = new Annotation[current.length - 1];
+        System.arraycopy(current, 0, newAnnotations, 0, index);
+        System.arraycopy(current, index + 1, newAnnotations, index, current.length - index - 1);
+        annotations = newAnnotations;
+    }
+
+    private static int indexOf(Annotation[] annotations, Object o)
+    {
+        for (int i = 0; i < annotations.length; i++)
+        {
+            if (annotations[i].equals(o))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -34,6 +34,7 @@ import java.util.stream.Stream;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 import org.apache.webbeans.hash.XxHash64;
 import org.apache.webbeans.spi.DefiningClassService;
 import org.apache.webbeans.spi.InstantiatingClassService;
@@ -329,6 +330,7 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
+        Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginProxyGeneration() : null;
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
         byte[] proxyBytes = generateProxy(classLoader,
@@ -339,11 +341,18 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
-        if (definingService != null)
+        if (webBeansContext.isMetricsEnabled())
+        {
+            webBeansContext.getMetricsService().proxyGenerated(getClass().getSimpleName(), classToProxy);
+        }
+        Class<T> proxyClass = definingService != null
+                ? definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy)
+                : unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        if (recorded != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            FlightRecorderEvents.endProxyGeneration(recorded, getClass().getSimpleName(), classToProxy);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        return proxyClass;
     }
 
     protected <T> T newInstance(final Class<? extends T> proxyClass)
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+
+import javax.enterprise.context.spi.CreationalContext;
+
+/**
+ * {@link org.apache.webbeans.spi.PassivationCodecService} which streams the contextual instances directly
+ * to the output without any intermediate Map or BeanInstanceBag wrappers.
+ * Passivation ids are written as raw UTF-8 bytes, only the CreationalContext and
+ * the instance itself go through java serialization.
+ *
+ * To enable it configure
+ * <pre>org.apache.webbeans.spi.PassivationCodecService=org.apache.webbeans.service.CompactPassivationCodecService</pre>
+ * in openwebbeans.properties.
+ */
+public class CompactPassivationCodecService extends DefaultPassivationCodecService
+{
+    /**
+     * Header written first so the format can be detected when reading.
+     */
+    static final String FORMAT = "owb-compact-passivation-1";
+
+    @Override
+    public void write(ObjectOutput out, PassivatedInstances instances) throws IOException
+    {
+        out.writeObject(FORMAT);
+        out.writeInt(instances.size());
+        instances.forEach((passivationId, creationalContext, instance) ->
+        {
+            byte[] id = passivationId.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(id.length);
+            out.write(id);
+            out.writeObject(creationalContext);
+            out.writeObject(instance);
+        });
+    }
+
+    static void readInstances(ObjectInput in, InstanceVisitor visitor) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            byte[] id = new byte[in.readInt()];
+            in.readFully(id);
+            CreationalContext<?> creationalContext = (CreationalContext<?>) in.readObject();
+            Object instance = in.readObject();
+            visitor.visit(new String(id, StandardCharsets.UTF_8), creationalContext, instance);
+        }
+    }
+}
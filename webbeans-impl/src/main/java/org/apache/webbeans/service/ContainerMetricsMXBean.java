@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link JmxMetricsService}.
+ *
+ * All the values are plain counters, monitoring tools and metrics libraries can poll
+ * and convert them to rates themselves.
+ */
+public interface ContainerMetricsMXBean
+{
+    /**
+     * @return the number of contextual instances currently alive per scope annotation name
+     */
+    Map<String, Long> getInstanceCounts();
+
+    long getResolutionCacheHits();
+
+    long getResolutionCacheMisses();
+
+    /**
+     * @return hits / lookups, 0 if there was no lookup yet
+     */
+    double getResolutionCacheHitRate();
+
+    /**
+     * @return the upper bounds of the latency histogram buckets in nanoseconds,
+     *         the last bucket counts everything slower than the last bound
+     */
+    long[] getLatencyBucketBoundsNanos();
+
+    /**
+     * @return the event dispatch latency histogram per event class name
+     */
+    Map<String, long[]> getEventDispatchHistograms();
+
+    /**
+     * @return the interceptor chain latency histogram per intercepted class name
+     */
+    Map<String, long[]> getInterceptorChainHistograms();
+
+    /**
+     * @return the number of generated proxy classes per kind of proxy
+     */
+    Map<String, Long> getProxyCounts();
+
+    /**
+     * Resets all the counters but the instance counts.
+     */
+    void reset();
+}
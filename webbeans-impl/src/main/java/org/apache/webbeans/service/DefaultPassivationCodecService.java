@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.PassivationCodecService;
+
+/**
+ * Default {@link PassivationCodecService} using plain java serialization.
+ * It writes a Map of passivation id to {@link BeanInstanceBag} which is
+ * the format OWB always used.
+ *
+ * Both this format and the one of {@link CompactPassivationCodecService} can be read,
+ * so nodes of a cluster can be switched from one to the other in a rolling restart.
+ */
+public class DefaultPassivationCodecService implements PassivationCodecService
+{
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(ObjectOutput out, PassivatedInstances instances) throws IOException
+    {
+        Map<String, BeanInstanceBag<?>> map = new HashMap<>(instances.size());
+        instances.forEach((passivationId, creationalContext, instance) ->
+            map.put(passivationId, new BeanInstanceBag<>((CreationalContext<Object>) creationalContext, instance)));
+
+        out.writeObject(map);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void read(ObjectInput in, InstanceVisitor visitor) throws IOException, ClassNotFoundException
+    {
+        Object data = in.readObject();
+        if (data instanceof Map)
+        {
+            for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : ((Map<String, BeanInstanceBag<?>>) data).entrySet())
+            {
+                BeanInstanceBag<?> bag = beanBagEntry.getValue();
+                visitor.visit(beanBagEntry.getKey(), bag.getBeanCreationalContext(), bag.getBeanInstance());
+            }
+        }
+        else if (CompactPassivationCodecService.FORMAT.equals(data))
+        {
+            CompactPassivationCodecService.readInstances(in, visitor);
+        }
+        else
+        {
+            throw new StreamCorruptedException("Unknown passivation format: " + data);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.webbeans.custom.CustomProxyPackageMarker;
+import org.apache.webbeans.custom.signed.CustomSignedProxyPackageMarker;
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.InstantiatingClassService;
+
+/**
+ * Defines the proxies as hidden classes (java &gt;= 15) using {@code Lookup.defineHiddenClass}.
+ *
+ * The proxies are nestmates of the proxied class and are not registered in any ClassLoader,
+ * so they can get unloaded as soon as the container which created them is gone,
+ * even if the application ClassLoader stays alive.
+ *
+ * Hidden classes cannot be looked up by name, so this service does not fit tooling which
+ * expects to find the proxies again by their name like
+ * {@link ClassLoaderProxyService.LoadFirst} or {@link ClassLoaderProxyService.LoadOnly}.
+ *
+ * To enable it configure
+ * <pre>org.apache.webbeans.spi.DefiningClassService=org.apache.webbeans.service.HiddenClassProxyService</pre>
+ * in openwebbeans.properties.
+ */
+public class HiddenClassProxyService implements DefiningClassService, InstantiatingClassService
+{
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final Method privateLookupIn;
+    private final Method defineHiddenClass;
+    private final Object classOptions;
+
+    public HiddenClassProxyService()
+    {
+        try
+        {
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+
+            Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            classOptions = Array.newInstance(classOption, 1);
+            Array.set(classOptions, 0, classOption.getField("NESTMATE").get(null));
+
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                    "defineHiddenClass", byte[].class, boolean.class, classOptions.getClass());
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new WebBeansConfigurationException(
+                    HiddenClassProxyService.class.getName() + " requires java 15 or newer", e);
+        }
+    }
+
+    @Override
+    public ClassLoader getProxyClassLoader(Class<?> forClass)
+    {
+        ClassLoader classLoader = forClass.getClassLoader();
+        return classLoader != null ? classLoader : HiddenClassProxyService.class.getClassLoader();
+    }
+
+    @Override
+    public <T> Class<T> defineAndLoad(String name, byte[] bytecode, Class<T> proxiedClass)
+    {
+        // the hidden class is defined in the package of the lookup class
+        Class<?> host = name.startsWith("org.apache.webbeans.custom.signed.") ?
+                CustomSignedProxyPackageMarker.class :
+                name.startsWith("org.apache.webbeans.custom.") ?
+                        CustomProxyPackageMarker.class : proxiedClass;
+        try
+        {
+            MethodHandles.Lookup hostLookup = (MethodHandles.Lookup) privateLookupIn.invoke(null, host, lookup);
+            MethodHandles.Lookup proxyLookup = (MethodHandles.Lookup) defineHiddenClass.invoke(
+                    hostLookup, bytecode, true, classOptions);
+            return (Class<T>) proxyLookup.lookupClass();
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new ProxyGenerationException("Can't define proxy " + name, e.getCause());
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new ProxyGenerationException("Can't define proxy " + name, e);
+        }
+    }
+
+    @Override
+    public <T> T newInstance(Class<? extends T> proxyClass)
+    {
+        try
+        {
+            return proxyClass.getConstructor().newInstance();
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed to create a new Proxy instance of " + proxyClass.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * {@link MetricsService} which publishes the metrics as {@link ContainerMetricsMXBean}
+ * in the platform MBeanServer, under {@code org.apache.webbeans:type=ContainerMetrics,name=<id>}.
+ *
+ * Enable it with
+ * <pre>org.apache.webbeans.spi.MetricsService=org.apache.webbeans.service.JmxMetricsService</pre>
+ */
+public class JmxMetricsService implements MetricsService, ContainerMetricsMXBean, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmxMetricsService.class);
+
+    private static final long[] BUCKET_BOUNDS = {
+        1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final ConcurrentMap<Class<? extends Annotation>, AtomicLong> instances = new ConcurrentHashMap<>();
+    private final LongAdder resolutionHits = new LongAdder();
+    private final LongAdder resolutionMisses = new LongAdder();
+    private final ConcurrentMap<Class<?>, Histogram> eventDispatch = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Histogram> interceptorChains = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> proxies = new ConcurrentHashMap<>();
+
+    private final ObjectName objectName;
+
+    public JmxMetricsService()
+    {
+        ObjectName name = null;
+        try
+        {
+            name = new ObjectName("org.apache.webbeans:type=ContainerMetrics,name="
+                + Integer.toHexString(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Unable to register the container metrics MBean", e);
+            name = null;
+        }
+        objectName = name;
+    }
+
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void instanceCreated(Class<? extends Annotation> scope)
+    {
+        instances.computeIfAbsent(scope, s -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void instanceDestroyed(Class<? extends Annotation> scope)
+    {
+        instances.computeIfAbsent(scope, s -> new AtomicLong()).decrementAndGet();
+    }
+
+    @Override
+    public void resolutionCacheLookup(boolean hit)
+    {
+        (hit ? resolutionHits : resolutionMisses).increment();
+    }
+
+    @Override
+    public void eventDispatched(Class<?> eventType, long nanos)
+    {
+        eventDispatch.computeIfAbsent(eventType, t -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void interceptorChainInvoked(Class<?> beanClass, long nanos)
+    {
+        interceptorChains.computeIfAbsent(beanClass, t -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void proxyGenerated(String proxyKind, Class<?> proxiedClass)
+    {
+        proxies.computeIfAbsent(proxyKind, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public Map<String, Long> getInstanceCounts()
+    {
+        Map<String, Long> counts = new TreeMap<>();
+        instances.forEach((scope, count) -> counts.put(scope.getName(), count.get()));
+        return counts;
+    }
+
+    @Override
+    public long getResolutionCacheHits()
+    {
+        return resolutionHits.sum();
+    }
+
+    @Override
+    public long getResolutionCacheMisses()
+    {
+        return resolutionMisses.sum();
+    }
+
+    @Override
+    public double getResolutionCacheHitRate()
+    {
+        long hits = resolutionHits.sum();
+        long lookups = hits + resolutionMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long[] getLatencyBucketBoundsNanos()
+    {
+        return BUCKET_BOUNDS.clone();
+    }
+
+    @Override
+    public Map<String, long[]> getEventDispatchHistograms()
+    {
+        return snapshot(eventDispatch);
+    }
+
+    @Override
+    public Map<String, long[]> getInterceptorChainHistograms()
+    {
+        return snapshot(interceptorChains);
+    }
+
+    @Override
+    public Map<String, Long> getProxyCounts()
+    {
+        Map<String, Long> counts = new TreeMap<>();
+        proxies.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void reset()
+    {
+        resolutionHits.reset();
+        resolutionMisses.reset();
+        eventDispatch.clear();
+        interceptorChains.clear();
+        proxies.clear();
+    }
+
+    @Override
+    public void close()
+    {
+        if (objectName != null)
+        {
+            try
+            {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(objectName))
+                {
+                    server.unregisterMBean(objectName);
+                }
+            }
+            catch (Exception e)
+            {
+                logger.log(Level.FINE, "Unable to unregister the container metrics MBean", e);
+            }
+        }
+    }
+
+    private static Map<String, long[]> snapshot(Map<Class<?>, Histogram> histograms)
+    {
+        Map<String, long[]> snapshot = new TreeMap<>();
+        histograms.forEach((type, histogram) -> snapshot.put(type.getName(), histogram.counts()));
+        return snapshot;
+    }
+
+    private static final class Histogram
+    {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+
+        private Histogram()
+        {
+            for (int i = 0; i < buckets.length; i++)
+            {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos)
+        {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket])
+            {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        private long[] counts()
+        {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++)
+            {
+                counts[i] = buckets[i].sum();
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import java.lang.annotation.Annotation;
+
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Default {@link MetricsService}, it is disabled so the container does not report anything.
+ */
+public class NoopMetricsService implements MetricsService
+{
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public void instanceCreated(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void instanceDestroyed(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void resolutionCacheLookup(boolean hit)
+    {
+        // no-op
+    }
+
+    @Override
+    public void eventDispatched(Class<?> eventType, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void interceptorChainInvoked(Class<?> beanClass, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void proxyGenerated(String proxyKind, Class<?> proxiedClass)
+    {
+        // no-op
+    }
+}
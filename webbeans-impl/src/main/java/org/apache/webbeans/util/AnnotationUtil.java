@@ -51,6 +51,36 @@ public final class AnnotationUtil
     public static final Annotation[] DEFAULT_AND_ANY_ANNOTATION_ARRAY = {DefaultLiteral.INSTANCE, AnyLiteral.INSTANCE};
 
     public static final Set<Annotation> DEFAULT_AND_ANY_ANNOTATION_SET = Collections.unmodifiableSet(ArrayUtil.asSet(DEFAULT_AND_ANY_ANNOTATION_ARRAY));
+
+    /**
+     * The non-&#064;Nonbinding members per annotation type. Qualifier and interceptor binding
+     * comparisons run on every resolution, so the reflective lookup is only done once.
+     */
+    private static final ClassValue<List<Method>> BINDING_METHODS = new ClassValue<List<Method>>()
+    {
+        @Override
+        protected List<Method> computeValue(Class<?> annotationType)
+        {
+            Method[] qualifierMethods = annotationType.getDeclaredMethods();
+
+            if (qualifierMethods.length == 0)
+            {
+                // annotation has no methods
+                return Collections.emptyList();
+            }
+
+            List<Method> bindingMethods = new ArrayList<>();
+            for (Method qualifierMethod : qualifierMethods)
+            {
+                if (!hasMethodAnnotation(qualifierMethod, Nonbinding.class))
+                {
+                    // no @Nonbinding found - add to list
+                    bindingMethods.add(qualifierMethod);
+                }
+            }
+            return Collections.unmodifiableList(bindingMethods);
+        }
+    };
     
 
     // No instantiate
@@ -252,25 +282,37 @@ public final class AnnotationUtil
             return 0;
         }
 
-        int hashCode = 0;
+        // check the values of all qualifier-methods
+        // except those annotated with @Nonbinding
+        return getCdiAnnotationHashCode(annotation, getBindingCdiAnnotationMethods(annotation.annotationType()));
+    }
 
-        Class<? extends Annotation> qualifierAnnotationType = annotation.annotationType();
-        if (qualifierAnnotationType != null)
+    /**
+     * Same as {@link #getCdiAnnotationHashCode(Annotation)} for annotations whose
+     * members are defined by the given AnnotatedType, consistent with
+     * {@link #isCdiAnnotationEqual(AnnotatedType, Annotation, Annotation)}.
+     */
+    public static int getCdiAnnotationHashCode(AnnotatedType<?> at, Annotation annotation)
+    {
+        if (annotation == null)
         {
-            hashCode = qualifierAnnotationType.hashCode();
+            return 0;
         }
 
-        // check the values of all qualifier-methods
-        // except those annotated with @Nonbinding
-        List<Method> bindingCdiAnnotationMethods
-                = getBindingCdiAnnotationMethods(qualifierAnnotationType);
+        return getCdiAnnotationHashCode(annotation, getBindingCdiAnnotationMethods(at));
+    }
+
+    private static int getCdiAnnotationHashCode(Annotation annotation, List<Method> bindingCdiAnnotationMethods)
+    {
+        int hashCode = annotation.annotationType().hashCode();
 
         for (Method method : bindingCdiAnnotationMethods)
         {
             Object value = callMethod(annotation, method);
             if (value != null)
             {
-                hashCode ^= value.hashCode();
+                // arrays are compared by their content, so they need to get hashed the same way
+                hashCode ^= value.getClass().isArray() ? Arrays.deepHashCode(new Object[]{ value }) : value.hashCode();
             }
         }
 
@@ -395,26 +437,7 @@ public final class AnnotationUtil
      */
     private static List<Method> getBindingCdiAnnotationMethods(Class<? extends Annotation> qualifierAnnotationType)
     {
-        Method[] qualifierMethods = qualifierAnnotationType.getDeclaredMethods();
-
-        if (qualifierMethods.length > 0)
-        {
-            List<Method> bindingMethods = new ArrayList<>();
-
-            for (Method qualifierMethod : qualifierMethods)
-            {
-                if (!hasMethodAnnotation(qualifierMethod, Nonbinding.class))
-                {
-                    // no @Nonbinding found - add to list
-                    bindingMethods.add(qualifierMethod);
-                }
-            }
-
-            return bindingMethods;
-        }
-
-        // annotation has no methods
-        return Collections.emptyList();
+        return BINDING_METHODS.get(qualifierAnnotationType);
     }
 
     private static List<Method> getBindingCdiAnnotationMethods(AnnotatedType<?> at)
@@ -1331,11 +1331,11 @@ public final class WebBeansUtil
         Class<?> clazz = type.getJavaClass();
         boolean hasClassInterceptors = false;
         AnnotationManager annotationManager = webBeansContext.getAnnotationManager();
-        if (annotationManager.getInterceptorBindingMetaAnnotations(anns).length > 0)
+        if (annotationManager.hasInterceptorBindingMetaAnnotation(anns))
         {
             hasClassInterceptors = true;
         }
-        else
+        else if (annotationManager.hasStereoTypeMetaAnnotation(anns))
         {
             Annotation[] stereoTypes = annotationManager.getStereotypeMetaAnnotations(anns);
             for (Annotation stero : stereoTypes)
@@ -1368,8 +1368,7 @@ public final class WebBeansUtil
                                                     + " can not define non-static, non-private final methods. Because it is annotated with at least one @InterceptorBinding");
                 }
 
-                if (annotationManager.hasInterceptorBindingMetaAnnotation(
-                    AnnotationUtil.asArray(methodA.getAnnotations())))
+                if (annotationManager.hasInterceptorBindingMetaAnnotation(methodA.getAnnotations()))
                 {
                     // spec section 3.15 unproxyable bean types -> Deployment Error
                     throw new WebBeansDeploymentException("Method : " + method.getName() + "in managed bean class : " + clazz.getName()
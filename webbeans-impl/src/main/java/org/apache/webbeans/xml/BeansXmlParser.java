@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.xml;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.util.WebBeansConstants;
+
+/**
+ * Streaming reader of the beans.xml schema filling a {@link DefaultBeanArchiveInformation}.
+ * Element names are matched case insensitively and unknown elements are ignored.
+ */
+final class BeansXmlParser
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveService.class);
+
+    private final XMLStreamReader reader;
+    private final DefaultBeanArchiveInformation bdaInfo;
+    private final String beansXmlLocation;
+
+    /**
+     * Whether an exclude depends on the classpath or the system properties.
+     */
+    private boolean conditional;
+
+    private BeansXmlParser(XMLStreamReader reader, DefaultBeanArchiveInformation bdaInfo, String beansXmlLocation)
+    {
+        this.reader = reader;
+        this.bdaInfo = bdaInfo;
+        this.beansXmlLocation = beansXmlLocation;
+    }
+
+    static XMLInputFactory newFactory()
+    {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * @return {@code false} if the result depends on the environment (conditional excludes) and must not be reused
+     * @throws WebBeansException if the stream is not well formed XML
+     */
+    static boolean parse(XMLInputFactory factory, InputStream xmlStream, DefaultBeanArchiveInformation bdaInfo,
+                         String beansXmlLocation)
+    {
+        XMLStreamReader reader = null;
+        try
+        {
+            reader = factory.createXMLStreamReader(xmlStream);
+            BeansXmlParser parser = new BeansXmlParser(reader, bdaInfo, beansXmlLocation);
+            parser.readRoot();
+            return !parser.conditional;
+        }
+        catch (XMLStreamException e)
+        {
+            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
+        }
+        finally
+        {
+            if (reader != null)
+            {
+                try
+                {
+                    reader.close();
+                }
+                catch (XMLStreamException e)
+                {
+                    // the stream itself is closed by the caller
+                }
+            }
+        }
+    }
+
+    private void readRoot() throws XMLStreamException
+    {
+        while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT)
+        {
+            // prolog, comments
+        }
+        if (!reader.isStartElement())
+        {
+            bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+            return;
+        }
+
+        if (!"beans".equalsIgnoreCase(reader.getLocalName()))
+        {
+            throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + reader.getLocalName() +
+                                                     " in " + beansXmlLocation);
+        }
+
+        bdaInfo.setVersion(getTrimmedAttribute("version"));
+
+        String beanDiscoveryMode = getTrimmedAttribute("bean-discovery-mode");
+        bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
+
+        while (nextChild())
+        {
+            String name = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(name))
+            {
+                readClasses(bdaInfo.getDecorators(), null, "decorators");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(name))
+            {
+                readClasses(bdaInfo.getInterceptors(), null, "interceptors");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(name))
+            {
+                readClasses(bdaInfo.getAlternativeClasses(), bdaInfo.getAlternativeStereotypes(), "alternatives");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(name))
+            {
+                readExcludes();
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(name))
+            {
+                readClasses(bdaInfo.getAllowProxyingClasses(), null, "allowProxying");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(name))
+            {
+                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
+                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
+                skip();
+            }
+            else
+            {
+                skip();
+            }
+        }
+    }
+
+    /**
+     * Reads the {@code <class>} and, if a target is given, {@code <stereotype>} children of the current element.
+     */
+    private void readClasses(List<String> classes, List<String> stereotypes, String parent) throws XMLStreamException
+    {
+        while (nextChild())
+        {
+            String name = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(name))
+            {
+                classes.add(readName(parent, WebBeansConstants.WEB_BEANS_XML_CLASS));
+            }
+            else if (stereotypes != null && WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(name))
+            {
+                stereotypes.add(readName(parent, WebBeansConstants.WEB_BEANS_XML_STEREOTYPE));
+            }
+            else
+            {
+                skip();
+            }
+        }
+    }
+
+    private String readName(String parent, String element) throws XMLStreamException
+    {
+        String value = readText().trim();
+        if (value.isEmpty())
+        {
+            throw new WebBeansConfigurationException(parent + " <" + element + "> element must not be empty!");
+        }
+        return value;
+    }
+
+    private void readExcludes() throws XMLStreamException
+    {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        while (nextChild())
+        {
+            if (!WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(reader.getLocalName()))
+            {
+                skip();
+                continue;
+            }
+
+            String name = getTrimmedAttribute("name");
+            boolean skip = false;
+            while (nextChild())
+            {
+                String localName = reader.getLocalName();
+                if (skip)
+                {
+                    skip();
+                    continue;
+                }
+
+                if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
+                {
+                    conditional = true;
+                    skip = !isClassAvailable(loader, getTrimmedAttribute("name"));
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
+                {
+                    conditional = true;
+                    skip = isClassAvailable(loader, getTrimmedAttribute("name"));
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
+                {
+                    conditional = true;
+                    String value = getTrimmedAttribute("value");
+                    String systProp = System.getProperty(getTrimmedAttribute("name"));
+                    skip = (value == null && systProp == null) || !(value != null && value.equals(systProp));
+                }
+                skip();
+            }
+            if (skip)
+            {
+                continue;
+            }
+
+            if (name.endsWith(".*"))
+            {
+                // package exclude without sub-packages
+                bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
+            }
+            else if (name.endsWith(".**"))
+            {
+                // package exclude WITH sub-packages
+                bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
+            }
+            else
+            {
+                // a simple Class
+                bdaInfo.addClassExclude(name);
+            }
+        }
+    }
+
+    /**
+     * Moves to the next child element of the current element.
+     *
+     * @return {@code false} once the end of the current element is reached
+     */
+    private boolean nextChild() throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves to the end of the current element.
+     */
+    private void skip() throws XMLStreamException
+    {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * @return the text content of the current element, including the one of nested elements
+     */
+    private String readText() throws XMLStreamException
+    {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE)
+            {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     */
+    private String getTrimmedAttribute(String attributeName)
+    {
+        for (int i = 0; i < reader.getAttributeCount(); i++)
+        {
+            String prefix = reader.getAttributePrefix(i);
+            if ((prefix == null || prefix.isEmpty()) && attributeName.equals(reader.getAttributeLocalName(i)))
+            {
+                String val = reader.getAttributeValue(i).trim();
+                return val.isEmpty() ? null : val;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isClassAvailable(ClassLoader loader, String name)
+    {
+        try
+        {
+            // no Class.forName(name) since it doesn't attach the classloader loader to the class in some cases
+            loader.loadClass(name);
+            return true;
+        }
+        catch (Throwable e) // NoClassDefFoundError or ClassNotFoundException
+        {
+            return false;
+        }
+    }
+}
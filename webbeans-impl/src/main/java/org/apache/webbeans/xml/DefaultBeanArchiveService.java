@@ -20,10 +20,13 @@ package org.apache.webbeans.xml;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PushbackInputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -39,11 +42,8 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.util.UrlSet;
-import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.xbean.finder.archive.FileArchive;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Please note that this implementation is not thread safe.
@@ -63,6 +63,13 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private UrlSet registeredBeanArchives = new UrlSet();
 
+    /**
+     * Parsed beans.xml per content, most jars ship the same trivial one.
+     */
+    private Map<ByteBuffer, DefaultBeanArchiveInformation> parsedBeansXmls = new HashMap<>();
+
+    private XMLInputFactory xmlInputFactory;
+
 
     @Override
     public BeanArchiveInformation getBeanArchiveInformation(URL beanArchiveUrl)
@@ -280,6 +287,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
     /**
      * Read the information from the given beans.xml and fill it into a
      * BeanArchiveInformation instance.
+     * A beans.xml with the same content as an already read one is not parsed again.
      */
     protected BeanArchiveInformation readBeansXml(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
     {
@@ -287,42 +295,27 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
         if (xmlStreamIn != null)
         {
-            PushbackInputStream xmlStream = new PushbackInputStream(xmlStreamIn);
-
-            // try to read from the stream
-            int firstVal = xmlStream.read();
-            if (firstVal < 0)
+            byte[] content = readContent(xmlStreamIn);
+            if (content.length == 0)
             {
                 // this means the stream is empty
                 bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
             }
             else
             {
-                // put the first byte back on the stream so we can properly parse the XML.
-                xmlStream.unread(firstVal);
-
-                //Get root element of the XML document
-                Element webBeansRoot = getBeansRootElement(xmlStream);
-                if (webBeansRoot == null)
+                ByteBuffer key = ByteBuffer.wrap(content);
+                DefaultBeanArchiveInformation parsed = parsedBeansXmls.get(key);
+                if (parsed != null)
                 {
-                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+                    copy(parsed, bdaInfo);
+                    return bdaInfo;
                 }
-                else
-                {
-                    if (!"beans".equalsIgnoreCase(webBeansRoot.getLocalName()))
-                    {
-                        throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + webBeansRoot.getLocalName() +
-                                                                 " in " + beansXmlLocation);
-                    }
-
-                    bdaInfo.setVersion(getTrimmedAttribute(webBeansRoot, "version"));
 
-                    String beanDiscoveryMode = getTrimmedAttribute(webBeansRoot, "bean-discovery-mode");
-                    bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
-
-                    readBeanChildren(bdaInfo, webBeansRoot, beansXmlLocation);
+                if (xmlInputFactory == null)
+                {
+                    xmlInputFactory = BeansXmlParser.newFactory();
                 }
-
+                boolean reusable = BeansXmlParser.parse(xmlInputFactory, new ByteArrayInputStream(content), bdaInfo, beansXmlLocation);
 
                 if (bdaInfo.getVersion() != null && !"1.0".equals(bdaInfo.getVersion()) && bdaInfo.getBeanDiscoveryMode() == null)
                 {
@@ -335,6 +328,13 @@ public class DefaultBeanArchiveService implements BeanArchiveService
                     // an empty beans.xml file lead to backward compat mode with CDI-1.1.
                     bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
                 }
+
+                if (reusable)
+                {
+                    DefaultBeanArchiveInformation template = new DefaultBeanArchiveInformation(beansXmlLocation);
+                    copy(bdaInfo, template);
+                    parsedBeansXmls.put(key, template);
+                }
             }
         }
 
@@ -347,222 +347,36 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return bdaInfo;
     }
 
-    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, Element webBeansRoot, String beansXmlLocation)
-    {
-        ElementIterator elit = new ElementIterator(webBeansRoot);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-
-            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillDecorators(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillInterceptors(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAlternatives(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillExcludes(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAllowProxying(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
-                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
-            }
-        }
-    }
-
-    private void fillDecorators(DefaultBeanArchiveInformation bdaInfo, Element decoratorsElement)
-    {
-        ElementIterator elit = new ElementIterator(decoratorsElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("decorators <class> element must not be empty!");
-                }
-                bdaInfo.getDecorators().add(clazz);
-            }
-        }
-    }
-
-    private void fillInterceptors(DefaultBeanArchiveInformation bdaInfo, Element interceptorsElement)
-    {
-        ElementIterator elit = new ElementIterator(interceptorsElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("interceptors <class> element must not be empty!");
-                }
-                bdaInfo.getInterceptors().add(clazz);
-            }
-        }
-    }
-
-    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, Element alternativesElement)
-    {
-        ElementIterator elit = new ElementIterator(alternativesElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("alternatives <class> element must not be empty!");
-                }
-                bdaInfo.getAlternativeClasses().add(clazz);
-            }
-            if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(child.getLocalName()))
-            {
-                String stereotype = child.getTextContent().trim();
-                if (stereotype.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("alternatives <stereotype> element must not be empty!");
-                }
-                bdaInfo.getAlternativeStereotypes().add(stereotype);
-            }
-        }
-    }
-
-
-    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, Element scanElement)
-    {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        NodeList childNodes = scanElement.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++)
-        {
-            Node nd = childNodes.item(i);
-            if (!Element.class.isInstance(nd))
-            {
-                continue;
-            }
-
-            Element child = Element.class.cast(nd);
-            if (WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(child.getLocalName()))
-            {
-                String name = getTrimmedAttribute(child, "name");
-                NodeList children = child.getChildNodes();
-                boolean skip = false;
-                for (int j = 0; j < children.getLength(); j++)
-                {
-                    Node ndChild = children.item(j);
-                    if (!Element.class.isInstance(ndChild))
-                    {
-                        continue;
-                    }
-
-                    Element condition = Element.class.cast(ndChild);
-
-                    String localName = condition.getLocalName();
-                    if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (!isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
-                    {
-                        String value = getTrimmedAttribute(condition, "value");
-                        String systProp = System.getProperty(getTrimmedAttribute(condition, "name"));
-                        if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
-                        {
-                            skip = true;
-                            break;
-                        }
-                    }
-                }
-                if (skip)
-                {
-                    continue;
-                }
-                if (name.endsWith(".*"))
-                {
-                    // package exclude without sub-packages
-                    bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
-                }
-                else if (name.endsWith(".**"))
-                {
-                    // package exclude WITH sub-packages
-                    bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
-                }
-                else
-                {
-                    // a simple Class
-                    bdaInfo.addClassExclude(name);
-                }
-            }
-        }
-    }
-
-    private void fillAllowProxying(DefaultBeanArchiveInformation bdaInfo, Element allowProxyingElement)
+    private static byte[] readContent(InputStream xmlStream) throws IOException
     {
-        ElementIterator elit = new ElementIterator(allowProxyingElement);
-        while (elit.hasNext())
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = xmlStream.read(buffer)) >= 0)
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
-            {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("allowProxying <class> element must not be empty!");
-                }
-                bdaInfo.getAllowProxyingClasses().add(clazz);
-            }
+            content.write(buffer, 0, read);
         }
+        return content.toByteArray();
     }
 
-
-
-    private static boolean isClassAvailable(ClassLoader loader, String name)
+    private static void copy(DefaultBeanArchiveInformation from, DefaultBeanArchiveInformation to)
     {
-        try
-        {
-            // no Class.forName(name) since it doesn't attach the classloader loader to the class in some cases
-            loader.loadClass(name);
-            return true;
-        }
-        catch (Throwable e) // NoClassDefFoundError or ClassNotFoundException
-        {
-            return false;
-        }
+        to.setVersion(from.getVersion());
+        to.setBeanDiscoveryMode(from.getBeanDiscoveryMode());
+        to.getInterceptors().addAll(from.getInterceptors());
+        to.getDecorators().addAll(from.getDecorators());
+        to.getAlternativeClasses().addAll(from.getAlternativeClasses());
+        to.getAlternativeStereotypes().addAll(from.getAlternativeStereotypes());
+        to.getAllowProxyingClasses().addAll(from.getAllowProxyingClasses());
+        to.setExcludedClasses(from.getExcludedClasses() == null ? null : new ArrayList<>(from.getExcludedClasses()));
+        to.setExcludedPackages(from.getExcludedPackages() == null ? null : new ArrayList<>(from.getExcludedPackages()));
     }
 
     @Override
     public void release()
     {
         beanArchiveInformations.clear();
+        parsedBeansXmls.clear();
     }
 
 
@@ -572,7 +386,9 @@ public class DefaultBeanArchiveService implements BeanArchiveService
      * @param xmlStream parsed document
      * @return root element of the document
      * @throws org.apache.webbeans.exception.WebBeansException if any runtime exception occurs
+     * @deprecated beans.xml files are read with a streaming parser, not used anymore
      */
+    @Deprecated
     protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
     {
         try
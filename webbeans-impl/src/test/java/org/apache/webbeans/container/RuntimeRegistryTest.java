@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Named;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RuntimeRegistryTest extends AbstractUnitTest
+{
+    @Test
+    public void testLookupsAfterDeployment()
+    {
+        startContainer(Service.class, Producers.class);
+        RuntimeRegistry registry = getWebBeansContext().getBeanManagerImpl().getRuntimeRegistry();
+        Assert.assertNotNull(registry);
+
+        List<Bean<?>> candidates = registry.getCandidates(Service.class);
+        Assert.assertEquals(1, candidates.size());
+        Assert.assertEquals(Service.class, candidates.get(0).getBeanClass());
+
+        // primitives share the candidates of their wrapper
+        Assert.assertEquals(registry.getCandidates(Integer.class), registry.getCandidates(int.class));
+        Assert.assertEquals(1, getBeanManager().getBeans(Integer.class).size());
+
+        Assert.assertTrue(registry.getCandidates(Runnable.class).isEmpty());
+        Assert.assertEquals(1, registry.getBeansByName("service").size());
+        Assert.assertEquals(1, getBeanManager().getBeans("service").size());
+        Assert.assertTrue(getBeanManager().getBeans("missing").isEmpty());
+    }
+
+    @Named("service")
+    @ApplicationScoped
+    public static class Service
+    {
+    }
+
+    public static class Producers
+    {
+        @Produces
+        public int answer()
+        {
+            return 42;
+        }
+    }
+}
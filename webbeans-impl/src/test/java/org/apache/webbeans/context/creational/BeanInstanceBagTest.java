@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BeanInstanceBagTest
+{
+    @Test
+    public void createOnceConcurrently() throws Exception
+    {
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Contextual<Object> contextual = new CountingContextual(created);
+        final BeanInstanceBag<Object> bag = new BeanInstanceBag<>(null);
+
+        final ExecutorService es = Executors.newFixedThreadPool(8);
+        try
+        {
+            final Future<?>[] results = new Future<?>[8];
+            for (int i = 0; i < results.length; i++)
+            {
+                results[i] = es.submit(() ->
+                {
+                    start.await();
+                    return bag.create(contextual);
+                });
+            }
+            start.countDown();
+
+            final Object instance = results[0].get(1, TimeUnit.MINUTES);
+            for (final Future<?> result : results)
+            {
+                assertSame(instance, result.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, created.get());
+        }
+        finally
+        {
+            es.shutdownNow();
+        }
+    }
+
+    @Test
+    public void threadConfinedCreateOnce()
+    {
+        final AtomicInteger created = new AtomicInteger();
+        final Contextual<Object> contextual = new CountingContextual(created);
+        final BeanInstanceBag<Object> bag = new ThreadConfinedBeanInstanceBag<>(null);
+
+        final Object instance = bag.create(contextual);
+        assertSame(instance, bag.create(contextual));
+        assertSame(instance, bag.getBeanInstance());
+        assertEquals(1, created.get());
+    }
+
+    private static class CountingContextual implements Contextual<Object>
+    {
+        private final AtomicInteger created;
+
+        private CountingContextual(final AtomicInteger created)
+        {
+            this.created = created;
+        }
+
+        @Override
+        public Object create(final CreationalContext<Object> creationalContext)
+        {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(final Object instance, final CreationalContext<Object> creationalContext)
+        {
+            // no-op
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CreationalContextImplTest
+{
+    @Test
+    public void injectionPointStack()
+    {
+        final CreationalContextImpl<Object> cc = new CreationalContextImpl<>(null, null);
+        assertNull(cc.getInjectionPoint());
+        assertNull(cc.removeInjectionPoint());
+
+        final InjectionPoint first = injectionPoint();
+        final InjectionPoint second = injectionPoint();
+        cc.putInjectionPoint(first);
+        cc.putInjectionPoint(null);
+        cc.putInjectionPoint(second);
+
+        assertSame(second, cc.removeInjectionPoint());
+        assertNull(cc.getInjectionPoint());
+        assertNull(cc.removeInjectionPoint());
+        assertSame(first, cc.getInjectionPoint());
+        assertSame(first, cc.removeInjectionPoint());
+        assertNull(cc.getInjectionPoint());
+        assertNull(cc.removeInjectionPoint());
+    }
+
+    @Test
+    public void manyDependents()
+    {
+        final List<Object> destroyed = new ArrayList<>();
+        final Contextual<Object> contextual = new Contextual<Object>()
+        {
+            @Override
+            public Object create(final CreationalContext<Object> creationalContext)
+            {
+                return new Object();
+            }
+
+            @Override
+            public void destroy(final Object instance, final CreationalContext<Object> creationalContext)
+            {
+                destroyed.add(instance);
+            }
+        };
+
+        final CreationalContextImpl<Object> cc = new CreationalContextImpl<>(null, null);
+        final List<Object> instances = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+        {
+            final Object instance = new Object();
+            instances.add(instance);
+            cc.addDependent(contextual, instance);
+        }
+
+        assertTrue(cc.containsDependent(contextual, instances.get(20)));
+        assertFalse(cc.containsDependent(contextual, new Object()));
+
+        cc.destroyDependent(instances.get(20));
+        assertEquals(1, destroyed.size());
+        assertSame(instances.get(20), destroyed.get(0));
+        assertFalse(cc.containsDependent(contextual, instances.get(20)));
+
+        cc.destroyDependent(new Object());
+        assertEquals(1, destroyed.size());
+
+        cc.release();
+        assertEquals(40, destroyed.size());
+        assertSame(instances.get(0), destroyed.get(1));
+        assertSame(instances.get(39), destroyed.get(39));
+        assertFalse(cc.containsDependent(contextual, instances.get(0)));
+    }
+
+    private static InjectionPoint injectionPoint()
+    {
+        return (InjectionPoint) Proxy.newProxyInstance(CreationalContextImplTest.class.getClassLoader(),
+                new Class<?>[]{ InjectionPoint.class }, (proxy, method, args) -> null);
+    }
+}
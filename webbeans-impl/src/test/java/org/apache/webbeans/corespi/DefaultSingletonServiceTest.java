@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultSingletonServiceTest
+{
+    @Test
+    public void oneContextPerClassLoader()
+    {
+        final DefaultSingletonService service = new DefaultSingletonService();
+        final ClassLoader first = new URLClassLoader(new URL[0]);
+        final ClassLoader second = new URLClassLoader(new URL[0]);
+
+        final WebBeansContext firstContext = new WebBeansContext();
+        final WebBeansContext secondContext = new WebBeansContext();
+        service.register(first, firstContext);
+        service.register(second, secondContext);
+
+        assertSame(firstContext, service.get(first));
+        assertSame(secondContext, service.get(second));
+        assertSame(firstContext, service.get(first));
+        assertTrue(service.exists(first));
+        assertFalse(service.exists(new URLClassLoader(new URL[0])));
+    }
+
+    @Test
+    public void clearInvalidatesLastHit()
+    {
+        final DefaultSingletonService service = new DefaultSingletonService();
+        final ClassLoader loader = new URLClassLoader(new URL[0]);
+
+        final WebBeansContext context = new WebBeansContext();
+        service.register(loader, context);
+        assertSame(context, service.get(loader));
+
+        service.clear(loader);
+        assertFalse(service.exists(loader));
+
+        final WebBeansContext newContext = new WebBeansContext();
+        service.register(loader, newContext);
+        assertNotSame(context, service.get(loader));
+        assertSame(newContext, service.get(loader));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerTwice()
+    {
+        final DefaultSingletonService service = new DefaultSingletonService();
+        final ClassLoader loader = new URLClassLoader(new URL[0]);
+        service.register(loader, new WebBeansContext());
+        service.register(loader, new WebBeansContext());
+    }
+}
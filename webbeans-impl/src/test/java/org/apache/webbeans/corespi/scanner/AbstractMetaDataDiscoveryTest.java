@@ -20,6 +20,9 @@ package org.apache.webbeans.corespi.scanner;
 
 import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toSet;
 import static org.apache.xbean.asm9.ClassWriter.COMPUTE_FRAMES;
 import static org.apache.xbean.asm9.Opcodes.ACC_PUBLIC;
 import static org.apache.xbean.asm9.Opcodes.ACC_SUPER;
@@ -40,8 +43,10 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -53,7 +58,10 @@ import javax.enterprise.inject.spi.Extension;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.corespi.se.DefaultScannerService;
 import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.ScannerService;
+import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.asm9.ClassWriter;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Type;
@@ -170,6 +178,143 @@ public class AbstractMetaDataDiscoveryTest
         }
     }
 
+    @Test
+    public void parallelScanningFindsTheSameClasses() throws Exception
+    {
+        final URL[] urls = createParallelModules("parallel", null);
+
+        final Set<Set<String>> serial = scanBeanClassesPerBda(urls, "1", new DefaultScannerService());
+        assertEquals(6, serial.size());
+        assertEquals(serial, scanBeanClassesPerBda(urls, "4", new DefaultScannerService()));
+    }
+
+    @Test
+    public void parallelScanningUsesTheDeployingContext() throws Exception
+    {
+        // annotated mode makes the pool threads check the bean defining annotations
+        final URL[] urls = createParallelModules("annotated",
+                "<beans bean-discovery-mode=\"annotated\" version=\"2.0\"/>");
+
+        final Thread deployer = Thread.currentThread();
+        final Set<Thread> lookups = ConcurrentHashMap.newKeySet();
+        final Set<Boolean> deploymentLoaderUsed = ConcurrentHashMap.newKeySet();
+        final Set<Set<String>> classesPerBda = scanBeanClassesPerBda(urls, "4", new DefaultScannerService()
+        {
+            @Override
+            protected WebBeansContext webBeansContext()
+            {
+                lookups.add(Thread.currentThread());
+                return super.webBeansContext();
+            }
+
+            @Override
+            protected boolean isBeanAnnotation(final AnnotationFinder.AnnotationInfo annotationInfo,
+                                               final WebBeansContext context, final ClassLoader loader)
+            {
+                deploymentLoaderUsed.add(Thread.currentThread().getContextClassLoader() == loader);
+                return super.isBeanAnnotation(annotationInfo, context, loader);
+            }
+        });
+
+        assertEquals(6, classesPerBda.size());
+        assertEquals(singleton(deployer), lookups);
+        assertEquals(singleton(true), deploymentLoaderUsed);
+    }
+
+    @Test
+    public void sequentialScanningCallsTheOneArgumentHook() throws Exception
+    {
+        final URL[] urls = createParallelModules("sequential",
+                "<beans bean-discovery-mode=\"annotated\" version=\"2.0\"/>");
+
+        final Set<Set<String>> classesPerBda = scanBeanClassesPerBda(urls, "1", new DefaultScannerService()
+        {
+            @Override
+            protected boolean isBeanAnnotatedClass(final AnnotationFinder.ClassInfo classInfo)
+            {
+                return false;
+            }
+        });
+
+        assertTrue(classesPerBda.toString(), classesPerBda.isEmpty());
+    }
+
+    private URL[] createParallelModules(final String name, final String beansXml) throws IOException
+    {
+        final URL[] urls = new URL[6];
+        for (int i = 0; i < urls.length; i++)
+        {
+            final File file = temp.newFile("test-" + name + "-" + i + ".jar");
+            try (final JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    createBean(outputStream, "org/apache/openwebbeans/generated/" + name + i + "/Bean" + j + ".class", null);
+                }
+                outputStream.putNextEntry(new JarEntry("META-INF/beans.xml"));
+                if (beansXml != null)
+                {
+                    outputStream.write(beansXml.getBytes(StandardCharsets.UTF_8));
+                }
+                outputStream.closeEntry();
+            }
+            urls[i] = file.toURI().toURL();
+        }
+        return urls;
+    }
+
+    private Set<Set<String>> scanBeanClassesPerBda(final URL[] urls, final String parallelism,
+                                                   final ScannerService scannerService) throws Exception
+    {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(urls, oldLoader)
+        {
+            @Override
+            public Enumeration<URL> getResources(final String name) throws IOException
+            {
+                // only the generated jars are bean archives
+                return "META-INF/beans.xml".equals(name) ? findResources(name) : super.getResources(name);
+            }
+        })
+        {
+            thread.setContextClassLoader(loader);
+
+            final Properties config = new Properties();
+            config.setProperty("org.apache.webbeans.scanBeansXmlOnly", "true");
+            config.setProperty("org.apache.webbeans.scanner.parallelism", parallelism);
+            final WebBeansContext context = new WebBeansContext(
+                    singletonMap(ScannerService.class, scannerService), config);
+            final DefaultSingletonService singletonService = DefaultSingletonService.class.cast(
+                    WebBeansFinder.getSingletonService());
+            singletonService.register(loader, context);
+            final ContainerLifecycle lifecycle = context.getService(ContainerLifecycle.class);
+            lifecycle.startApplication(null);
+            try
+            {
+                final Set<Set<String>> classesPerBda = new HashSet<>();
+                for (final Set<Class<?>> classes : AbstractMetaDataDiscovery.class.cast(context.getScannerService())
+                        .getBeanClassesPerBda().values())
+                {
+                    if (!classes.isEmpty())
+                    {
+                        classesPerBda.add(classes.stream().map(Class::getName).collect(toSet()));
+                    }
+                }
+                return classesPerBda;
+            }
+            finally
+            {
+                lifecycle.stopApplication(null);
+                singletonService.clear(loader);
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
     private URL createScannedModule() throws IOException
     {
         final File file = temp.newFile("test-scanned.jar");
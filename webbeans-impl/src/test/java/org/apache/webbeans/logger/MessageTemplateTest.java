@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.logger;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageTemplateTest
+{
+    @Test
+    public void testFormatsLikeMessageFormat()
+    {
+        assertSameAsMessageFormat("no placeholder");
+        assertSameAsMessageFormat("Adding resolved beans with key [{0}] to cache.", "key");
+        assertSameAsMessageFormat("{1} before {0}, {0} again{2}", "a", null, new StringBuilder("c"));
+        assertSameAsMessageFormat("missing {1}", "a");
+        assertSameAsMessageFormat("number {0}", 12345678);
+        assertSameAsMessageFormat("can''t be '{0}' {0}", "a");
+        assertSameAsMessageFormat("typed {0,number,#.#} {1}", 1.25, "b");
+        assertSameAsMessageFormat("unbalanced } brace {0}", "a");
+    }
+
+    @Test
+    public void testResolvesBundleKeys()
+    {
+        Assert.assertEquals("Adding resolved beans with key [k] to cache.",
+            WebBeansLoggerFacade.constructMessage("DEBUG_ADD_BYTYPE_CACHE_BEANS", "k"));
+        Assert.assertSame(WebBeansLoggerFacade.getMessageTemplate("DEBUG_ADD_BYTYPE_CACHE_BEANS"),
+            WebBeansLoggerFacade.getMessageTemplate("DEBUG_ADD_BYTYPE_CACHE_BEANS"));
+        Assert.assertEquals("not a key {0}", WebBeansLoggerFacade.getMessageTemplate("not a key {0}").getPattern());
+        // plain messages are not cached
+        Assert.assertNotSame(WebBeansLoggerFacade.getMessageTemplate("not a key {0}"),
+            WebBeansLoggerFacade.getMessageTemplate("not a key {0}"));
+    }
+
+    private static void assertSameAsMessageFormat(String pattern, Object... args)
+    {
+        Assert.assertEquals(new MessageFormat(pattern, Locale.getDefault()).format(args),
+            MessageTemplate.compile(pattern).format(args));
+    }
+}
@@ -19,9 +19,14 @@
 package org.apache.webbeans.portable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
+import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Named;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.AnnotatedTypeWrapper;
@@ -57,7 +62,32 @@ public class AnnotatedTypeImplTest
         assertEquals(annotatedType.hashCode(), wrapped.hashCode());
     }
 
+    @Test
+    public void copiesDoNotShareChanges()
+    {
+        final WebBeansContext webBeansContext = new WebBeansContext();
+        final AnnotatedTypeImpl<Bar> original = new AnnotatedTypeImpl<>(webBeansContext, Bar.class, null);
+        final AnnotatedTypeImpl<Bar> copy = new AnnotatedTypeImpl<>(webBeansContext, original);
+        assertEquals(original.getAnnotations(), copy.getAnnotations());
+
+        copy.addAnnotation(new AnnotationLiteral<RequestScoped>()
+        {
+        });
+        copy.getAnnotations().removeIf(a -> a.annotationType() == Named.class);
+
+        assertTrue(original.isAnnotationPresent(Named.class));
+        assertFalse(original.isAnnotationPresent(RequestScoped.class));
+        assertFalse(copy.isAnnotationPresent(Named.class));
+        assertTrue(copy.isAnnotationPresent(RequestScoped.class));
+        assertEquals(1, copy.getAnnotations().size());
+    }
+
     public static class Foo
     {
     }
+
+    @Named
+    public static class Bar
+    {
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.service;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Properties;
+
+import javax.inject.Provider;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HiddenClassProxyServiceTest
+{
+    @Before
+    public void java15OrMore()
+    {
+        boolean hiddenClasses;
+        try
+        {
+            Class.class.getMethod("isHidden");
+            hiddenClasses = true;
+        }
+        catch (final NoSuchMethodException e)
+        {
+            hiddenClasses = false;
+        }
+        assumeTrue(hiddenClasses);
+    }
+
+    @Test
+    public void defineHiddenProxy() throws Exception
+    {
+        final Properties config = new Properties();
+        config.setProperty(DefiningClassService.class.getName(), HiddenClassProxyService.class.getName());
+        final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+        final NormalScopeProxyFactory factory = new NormalScopeProxyFactory(context);
+        final Class<MyBean> proxyClass = factory.createProxyClass(Thread.currentThread().getContextClassLoader(), MyBean.class);
+
+        assertTrue((Boolean) Class.class.getMethod("isHidden").invoke(proxyClass));
+        assertEquals(MyBean.class.getClassLoader(), proxyClass.getClassLoader());
+
+        final MyBean instance = new MyBean();
+        final Provider<MyBean> provider = () -> instance;
+        final MyBean proxy = factory.createProxyInstance(proxyClass, provider);
+        assertEquals(">ok<", proxy.ok("ok"));
+        assertEquals("<ok>", proxy.wrap("ok")); // goes through the protected methods field
+    }
+
+    public static class MyBean
+    {
+        public String ok(final String value)
+        {
+            return ">" + value + "<";
+        }
+
+        protected String wrap(final String value)
+        {
+            return "<" + value + ">";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.annotation;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+
+import org.apache.webbeans.annotation.MetaAnnotationIndex;
+import org.apache.webbeans.test.interceptors.annotation.DependentInterceptorBindingType;
+import org.apache.webbeans.test.sterotype.StereoWithRequestScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetaAnnotationIndexTest
+{
+    private final MetaAnnotationIndex index = new MetaAnnotationIndex();
+
+    @Test
+    public void testCategories()
+    {
+        Assert.assertEquals(MetaAnnotationIndex.NORMAL_SCOPE, index.getCategories(ApplicationScoped.class));
+        Assert.assertEquals(MetaAnnotationIndex.SCOPE, index.getCategories(Dependent.class));
+        Assert.assertEquals(MetaAnnotationIndex.QUALIFIER, index.getCategories(Named.class));
+        Assert.assertEquals(MetaAnnotationIndex.STEREOTYPE, index.getCategories(StereoWithRequestScope.class));
+        Assert.assertEquals(MetaAnnotationIndex.INTERCEPTOR_BINDING, index.getCategories(DependentInterceptorBindingType.class));
+        Assert.assertEquals(0, index.getCategories(Deprecated.class));
+
+        Assert.assertTrue(index.is(ApplicationScoped.class, MetaAnnotationIndex.ANY_SCOPE));
+        Assert.assertFalse(index.is(Named.class, MetaAnnotationIndex.ANY_SCOPE));
+    }
+
+    @Test
+    public void testMergedCategories()
+    {
+        int merged = index.getCategories(StereotypedBean.class.getDeclaredAnnotations());
+        Assert.assertEquals(MetaAnnotationIndex.STEREOTYPE | MetaAnnotationIndex.QUALIFIER, merged);
+        Assert.assertEquals(0, merged & MetaAnnotationIndex.ANY_SCOPE);
+    }
+
+    @StereoWithRequestScope
+    @Named
+    public static class StereotypedBean
+    {
+    }
+}
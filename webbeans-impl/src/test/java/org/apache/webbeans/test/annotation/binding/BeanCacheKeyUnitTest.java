@@ -20,6 +20,7 @@
 package org.apache.webbeans.test.annotation.binding;
 
 import org.apache.webbeans.container.BeanCacheKey;
+import org.apache.webbeans.container.QualifierSignatureTable;
 import org.apache.webbeans.test.annotation.binding.AnnotationWithArrayOfBooleanMember;
 import org.apache.webbeans.test.annotation.binding.AnnotationWithArrayOfIntMember;
 import org.apache.webbeans.test.annotation.binding.AnnotationWithArrayOfStringMember;
@@ -31,9 +32,13 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+
+import javax.enterprise.inject.literal.NamedLiteral;
 
 public class BeanCacheKeyUnitTest
 {
+    private final QualifierSignatureTable signatures = new QualifierSignatureTable(it -> null);
 
     @AnnotationWithBindingMember(value = "B", number = 3)
     public BindingComponent s1;
@@ -67,6 +72,10 @@ public class BeanCacheKeyUnitTest
     public NonBindingComponent s8;
     public static Annotation[] a8;
 
+    @AnnotationWithArrayOfIntMember({1,2,3})
+    public NonBindingComponent sd;
+    public static Annotation[] ad;
+
     @AnnotationWithArrayOfStringMember({"1","2","3"})
     public NonBindingComponent s9;
     public static Annotation[] a9;
@@ -108,6 +117,7 @@ public class BeanCacheKeyUnitTest
             aa = BeanCacheKeyUnitTest.class.getDeclaredField("sa").getAnnotations();
             ab = BeanCacheKeyUnitTest.class.getDeclaredField("sb").getAnnotations();
             ac = BeanCacheKeyUnitTest.class.getDeclaredField("sc").getAnnotations();
+            ad = BeanCacheKeyUnitTest.class.getDeclaredField("sd").getAnnotations();
 
             a12 = new Annotation[]{a1[0], a2[0]};
             a21 = new Annotation[]{a2[0], a1[0]};
@@ -127,8 +137,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEmptyNull()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -145,8 +155,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testTypeUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, Integer.class, null, it -> null);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures);
+        BeanCacheKey b = new BeanCacheKey(true, Integer.class, null, signatures);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -154,8 +164,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testPath()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, "A", it -> null);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", signatures);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, "A", signatures);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -163,8 +173,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testPathUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, "B", it -> null);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", signatures);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, "B", signatures);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -172,16 +182,16 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testNonEqualsWithBindingMemberParameter()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a1);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a2);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a1);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a2);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testEqualsWithBindingMember()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a1);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a1);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a1);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a1);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -190,8 +200,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEqualsWithNonBindingMember()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a3);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a3);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a3);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a3);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -199,8 +209,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2Annotations()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a12);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a12);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a12);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a12);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -208,8 +218,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2AnnotationsUnorderedName()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a13);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a31);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a13);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a31);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -217,8 +227,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2AnnotationsUnorderedParam()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a12);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a21);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a12);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a21);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -226,16 +236,16 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testDiffMembers()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a4);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a5);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a4);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a5);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testOnyDiffMembersInNonBinding()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a5);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a6);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a5);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a6);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -243,8 +253,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testAnnotationOrdering()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a56);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a65);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a56);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a65);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -252,32 +262,32 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testMemberArraysInt()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a7);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a8);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a7);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, a8);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testMemberArraysString()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a9);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, aa);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a9);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, aa);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testMemberArraysBoolean()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, ab);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, ac);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, ab);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, ac);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testDiffArrays()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a9a);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, abc);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, null, signatures, a9a);
+        BeanCacheKey b = new BeanCacheKey(true, String.class, null, signatures, abc);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -286,10 +296,33 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testDelegateUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(false, String.class, "A", it -> null);
+        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", signatures);
+        BeanCacheKey b = new BeanCacheKey(false, String.class, "A", signatures);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
 
+
+    @Test
+    public void testEqualArrayMembersShareTheSignature()
+    {
+        Assert.assertNotSame(a7[0], ad[0]);
+        Assert.assertEquals(signatures.intern(a7[0]), signatures.intern(ad[0]));
+        Assert.assertNotEquals(signatures.intern(a7[0]), signatures.intern(a8[0]));
+    }
+
+    @Test
+    public void testManyBindingValues()
+    {
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++)
+        {
+            ids[i] = signatures.intern(NamedLiteral.of("bean" + i));
+        }
+        for (int i = 0; i < ids.length; i++)
+        {
+            Assert.assertEquals(ids[i], signatures.intern(NamedLiteral.of("bean" + i)));
+        }
+        Assert.assertEquals(ids.length, Arrays.stream(ids).distinct().count());
+    }
 }
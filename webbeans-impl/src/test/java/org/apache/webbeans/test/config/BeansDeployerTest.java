@@ -23,8 +23,12 @@ import static java.util.Collections.singletonList;
 import static java.util.logging.Level.FINE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.logging.Handler;
@@ -34,15 +38,20 @@ import java.util.logging.Logger;
 
 import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 
 import org.apache.webbeans.config.BeansDeployer;
+import org.apache.webbeans.config.DeploymentReport;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.intercept.webbeans.bindings.Transactional;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.rules.TestName;
 
 public class BeansDeployerTest extends AbstractUnitTest
@@ -50,6 +59,9 @@ public class BeansDeployerTest extends AbstractUnitTest
     @Rule
     public final TestName testName = new TestName();
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void skipValidations()
     {
@@ -119,6 +131,64 @@ public class BeansDeployerTest extends AbstractUnitTest
                 " is already defined with priority 1000", record.getMessage());
     }
 
+    @Test
+    public void deploymentReport() throws Exception
+    {
+        final File report = new File(temporaryFolder.getRoot(), "report/deployment.json");
+        addConfiguration(DeploymentReport.ENABLED, "true");
+        addConfiguration(DeploymentReport.FILE, report.getAbsolutePath());
+        addExtension(new ReportedExtension());
+        startContainer(MyService.class);
+
+        final String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json, json.contains("\"totalMillis\": "));
+        for (final String phase : asList("extensions", "beforeBeanDiscovery", "typeDiscovery", "afterTypeDiscovery",
+                "beanDiscovery", "afterBeanDiscovery", "validation", "afterDeploymentValidation"))
+        {
+            assertTrue(phase, json.contains("{\"name\": \"" + phase + "\", \"count\": 1"));
+        }
+        assertTrue(json, json.contains(
+                "{\"name\": \"" + ReportedExtension.class.getName() + "#bbd(BeforeBeanDiscoveryImpl)\", \"count\": 1"));
+    }
+
+    @Test
+    public void deploymentReportOfAFailingObserver() throws Exception
+    {
+        final File report = new File(temporaryFolder.getRoot(), "deployment.json");
+        addConfiguration(DeploymentReport.ENABLED, "true");
+        addConfiguration(DeploymentReport.FILE, report.getAbsolutePath());
+        addExtension(new FailingExtension());
+        try
+        {
+            startContainer(MyService.class);
+            fail("the failing observer should break the deployment");
+        }
+        catch (final RuntimeException e)
+        {
+            // expected
+        }
+
+        final String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json, json.contains(
+                "{\"name\": \"" + FailingExtension.class.getName() + "#bbd(BeforeBeanDiscoveryImpl)\", \"count\": 1"));
+    }
+
+    public static class FailingExtension implements Extension
+    {
+        void bbd(@Observes final BeforeBeanDiscovery bbd)
+        {
+            throw new IllegalStateException("failing on purpose");
+        }
+    }
+
+    public static class ReportedExtension implements Extension
+    {
+        void bbd(@Observes final BeforeBeanDiscovery bbd)
+        {
+            // only recorded
+        }
+    }
+
     @ApplicationScoped
     public static class MyService
     {
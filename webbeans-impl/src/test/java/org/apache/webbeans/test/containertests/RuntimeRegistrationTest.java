@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RuntimeRegistrationTest extends AbstractUnitTest
+{
+    @Test
+    public void testBeanAddedAfterDeploymentGetsResolved() throws Exception
+    {
+        startContainer(EnglishGreeter.class);
+        BeanManager beanManager = getBeanManager();
+        Assert.assertEquals(1, beanManager.getBeans(Greeter.class).size());
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<?>> resolutions = new ArrayList<>();
+            for (int i = 0; i < 4; i++)
+            {
+                resolutions.add(readers.submit(() ->
+                {
+                    for (int j = 0; j < 1000; j++)
+                    {
+                        int size = beanManager.getBeans(Greeter.class).size();
+                        Assert.assertTrue(size == 1 || size == 2);
+                    }
+                }));
+            }
+
+            getWebBeansContext().getBeanManagerImpl().addBean(createBean(FrenchGreeter.class));
+
+            for (Future<?> resolution : resolutions)
+            {
+                resolution.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally
+        {
+            readers.shutdownNow();
+        }
+
+        Set<Bean<?>> greeters = beanManager.getBeans(Greeter.class);
+        Assert.assertEquals(2, greeters.size());
+        Assert.assertEquals(1, beanManager.getBeans(FrenchGreeter.class).size());
+    }
+
+    @Test
+    public void testObserverAddedAfterDeploymentGetsNotified()
+    {
+        startContainer(EnglishGreeter.class);
+        getBeanManager().fireEvent(new Greeting());
+
+        List<Greeting> received = new ArrayList<>();
+        getWebBeansContext().getNotificationManager().addObserver(new GreetingObserver(received));
+        getBeanManager().fireEvent(new Greeting());
+
+        Assert.assertEquals(1, received.size());
+    }
+
+    private <T> Bean<T> createBean(Class<T> beanClass)
+    {
+        BeanManager beanManager = getBeanManager();
+        AnnotatedType<T> annotatedType = beanManager.createAnnotatedType(beanClass);
+        return beanManager.createBean(beanManager.createBeanAttributes(annotatedType), beanClass,
+            beanManager.getInjectionTargetFactory(annotatedType));
+    }
+
+    public interface Greeter
+    {
+        String greet();
+    }
+
+    @ApplicationScoped
+    public static class EnglishGreeter implements Greeter
+    {
+        @Override
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+
+    @ApplicationScoped
+    public static class FrenchGreeter implements Greeter
+    {
+        @Override
+        public String greet()
+        {
+            return "bonjour";
+        }
+    }
+
+    public static class Greeting
+    {
+    }
+
+    private static class GreetingObserver implements ObserverMethod<Greeting>
+    {
+        private final List<Greeting> received;
+
+        GreetingObserver(List<Greeting> received)
+        {
+            this.received = received;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return RuntimeRegistrationTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return Greeting.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return TransactionPhase.IN_PROGRESS;
+        }
+
+        @Override
+        public void notify(Greeting event)
+        {
+            received.add(event);
+        }
+    }
+}
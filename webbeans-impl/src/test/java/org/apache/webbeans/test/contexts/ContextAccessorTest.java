@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.test.proxy.beans.DummyScoped;
+import org.apache.webbeans.test.proxy.beans.DummyScopedContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextAccessorTest extends AbstractUnitTest
+{
+    @Test
+    public void testStandardScopeFollowsContextLifecycle()
+    {
+        startContainer();
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+
+        ContextAccessor accessor = beanManager.getContextAccessor(RequestScoped.class);
+        Assert.assertSame(accessor, beanManager.getContextAccessor(RequestScoped.class));
+
+        startContext(RequestScoped.class);
+        Context context = accessor.get();
+        Assert.assertTrue(context.isActive());
+        Assert.assertSame(context, beanManager.getContext(RequestScoped.class));
+        endContext(RequestScoped.class);
+
+        try
+        {
+            accessor.get();
+            Assert.fail("request context must not be active anymore");
+        }
+        catch (ContextNotActiveException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCustomContextAddedAfterLookup()
+    {
+        startContainer();
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+
+        ContextAccessor accessor = beanManager.getContextAccessor(DummyScoped.class);
+        try
+        {
+            accessor.get();
+            Assert.fail("no context registered for the scope yet");
+        }
+        catch (ContextNotActiveException e)
+        {
+            // expected
+        }
+
+        beanManager.addContext(new DummyScopedContext());
+        Assert.assertEquals(DummyScoped.class, accessor.get().getScope());
+
+        beanManager.addContext(new DummyScopedContext());
+        try
+        {
+            accessor.get();
+            Assert.fail("two active contexts for the same scope");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+    }
+}
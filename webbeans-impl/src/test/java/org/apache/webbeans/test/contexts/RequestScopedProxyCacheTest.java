@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestScopedProxyCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testInstancesAreCachedPerRequest()
+    {
+        startContainer(Counter.class, Other.class);
+
+        Counter counter = getInstance(Counter.class);
+        Other other = getInstance(Other.class);
+
+        startContext(RequestScoped.class);
+        int first = counter.getId();
+        Assert.assertEquals(first, counter.getId());
+        Assert.assertNotEquals(first, other.getId());
+        Assert.assertEquals(other.getId(), other.getId());
+
+        RequestContext context = (RequestContext) getBeanManager().getContext(RequestScoped.class);
+        Bean<?> bean = getBeanManager().resolve(getBeanManager().getBeans(Counter.class));
+        context.destroy(bean);
+        int recreated = counter.getId();
+        Assert.assertNotEquals(first, recreated);
+        endContext(RequestScoped.class);
+
+        startContext(RequestScoped.class);
+        Assert.assertNotEquals(recreated, counter.getId());
+        endContext(RequestScoped.class);
+    }
+
+    @Test
+    public void testSlotsAreDense()
+    {
+        startContainer(Counter.class, Other.class);
+
+        Bean<?> counter = getBeanManager().resolve(getBeanManager().getBeans(Counter.class));
+        Bean<?> other = getBeanManager().resolve(getBeanManager().getBeans(Other.class));
+        int counterSlot = getWebBeansContext().getBeanManagerImpl().getRequestScopedSlot(counter);
+        int otherSlot = getWebBeansContext().getBeanManagerImpl().getRequestScopedSlot(other);
+
+        Assert.assertNotEquals(counterSlot, otherSlot);
+        Assert.assertTrue(counterSlot < 8 && otherSlot < 8);
+    }
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    public abstract static class Identified
+    {
+        private int id;
+
+        @PostConstruct
+        public void init()
+        {
+            id = IDS.incrementAndGet();
+        }
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class Counter extends Identified
+    {
+    }
+
+    @RequestScoped
+    public static class Other extends Identified
+    {
+    }
+}
@@ -25,7 +25,9 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.service.CompactPassivationCodecService;
 import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.PassivationCodecService;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.contexts.serialize.AppScopedBean;
 import org.apache.webbeans.test.contexts.serialize.SessScopedBean;
@@ -161,6 +163,84 @@ public class SerializationTest extends AbstractUnitTest
         Assert.assertNotNull(sessContext2.get(pdbBean));
     }
 
+    @Test
+    public void testCompactPassivationCodec() throws ClassNotFoundException, IOException
+    {
+        addService(PassivationCodecService.class, new CompactPassivationCodecService());
+        startContainer(SessScopedBean.class, AppScopedBean.class);
+
+        getInstance(SessScopedBean.class).getApp();
+
+        Bean<SessScopedBean> sessBean = getBean(SessScopedBean.class);
+
+        Context sessionContext = getWebBeansContext().getBeanManagerImpl().getContext(SessionScoped.class);
+        Object instance = sessionContext.get(sessBean);
+        Assert.assertNotNull(instance);
+
+        byte[] ba = serializeObject(sessionContext);
+        Context sessContext2 = (Context) deSerializeObject(ba);
+        ((SessionContext) sessContext2).setActive(true);
+        Object instance2 = sessContext2.get(sessBean);
+        Assert.assertNotNull(instance2);
+        Assert.assertNotSame(instance, instance2);
+    }
+
+    @Test
+    public void testCompactPassivationCodecWithConcurrentChange() throws ClassNotFoundException, IOException
+    {
+        ChangingCodecService codec = new ChangingCodecService();
+        addService(PassivationCodecService.class, codec);
+        startContainer(SessScopedBean.class, AppScopedBean.class);
+
+        getInstance(SessScopedBean.class).getApp();
+
+        Bean<SessScopedBean> sessBean = getBean(SessScopedBean.class);
+        SessionContext sessionContext = (SessionContext) getWebBeansContext().getBeanManagerImpl().getContext(SessionScoped.class);
+        Assert.assertNotNull(sessionContext.get(sessBean));
+
+        // a request removes the bean after the codec counted the instances
+        codec.change = () -> sessionContext.destroy(sessBean);
+
+        byte[] ba = serializeObject(sessionContext);
+        Assert.assertNull(sessionContext.get(sessBean));
+
+        SessionContext sessContext2 = (SessionContext) deSerializeObject(ba);
+        sessContext2.setActive(true);
+        Assert.assertNotNull(sessContext2.get(sessBean));
+    }
+
+    /**
+     * Runs a change of the context between {@code size()} and {@code forEach()}.
+     */
+    private static class ChangingCodecService extends CompactPassivationCodecService
+    {
+        private Runnable change;
+
+        @Override
+        public void write(ObjectOutput out, PassivatedInstances instances) throws IOException
+        {
+            super.write(out, new PassivatedInstances()
+            {
+                @Override
+                public int size()
+                {
+                    int size = instances.size();
+                    if (change != null)
+                    {
+                        change.run();
+                    }
+                    return size;
+                }
+
+                @Override
+                public void forEach(PassivationCodecService.InstanceVisitor visitor) throws IOException
+                {
+                    instances.forEach(visitor);
+                }
+            });
+        }
+    }
+
     @Test
     public void testProxySerialization() throws Exception
     {
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.index;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.intercept.InterceptorResolutionIndex;
+import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InterceptorResolutionIndexTest extends AbstractUnitTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void resolutionIsMemoized()
+    {
+        startContainer(Service.class, Wrapping.class);
+
+        List<javax.enterprise.inject.spi.Interceptor<?>> interceptors = getWebBeansContext().getInterceptorsManager()
+                .resolveInterceptors(InterceptionType.AROUND_INVOKE, new WrappedLiteral());
+        assertEquals(1, interceptors.size());
+        assertSame(interceptors, getWebBeansContext().getInterceptorsManager()
+                .resolveInterceptors(InterceptionType.AROUND_INVOKE, new WrappedLiteral()));
+
+        // the BeanManager API still returns a list owned by the caller
+        getBeanManager().resolveInterceptors(InterceptionType.AROUND_INVOKE, new WrappedLiteral()).clear();
+        assertEquals("[ok]", getInstance(Service.class).value());
+    }
+
+    @Test
+    public void recordAndReplay() throws Exception
+    {
+        Path index = temp.getRoot().toPath().resolve("META-INF/openwebbeans/interceptor-resolution.index");
+        addConfiguration(InterceptorResolutionIndex.OUTPUT, index.toString());
+        startContainer(Service.class, Plain.class, Wrapping.class);
+        shutDownContainer();
+
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        assertTrue(lines.get(0).startsWith("fingerprint="));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(Plain.class.getName() + ' ')));
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith(Service.class.getName() + ' ')));
+
+        startWithIndex(() ->
+        {
+            assertTrue(interceptorInfo(Plain.class).getNonInterceptedMethods().isEmpty());
+            assertEquals("ok", getInstance(Plain.class).value());
+            assertEquals("[ok]", getInstance(Service.class).value());
+        }, Service.class, Plain.class, Wrapping.class);
+    }
+
+    @Test
+    public void indexOfAnotherDeploymentIsIgnored() throws Exception
+    {
+        Path index = temp.getRoot().toPath().resolve("META-INF/openwebbeans/interceptor-resolution.index");
+        addConfiguration(InterceptorResolutionIndex.OUTPUT, index.toString());
+        startContainer(Plain.class);
+        shutDownContainer();
+
+        startWithIndex(() -> assertFalse(interceptorInfo(Plain.class).getNonInterceptedMethods().isEmpty()),
+                Plain.class, Wrapping.class);
+    }
+
+    @Test
+    public void classWhichGainedABindingIsIntercepted() throws Exception
+    {
+        Path index = temp.getRoot().toPath().resolve("META-INF/openwebbeans/interceptor-resolution.index");
+        addConfiguration(InterceptorResolutionIndex.OUTPUT, index.toString());
+        startContainer(Plain.class, Wrapping.class);
+        shutDownContainer();
+
+        // same interceptors, but an extension binds Plain now
+        addExtension(new BindingExtension());
+        startWithIndex(() -> assertEquals("[ok]", getInstance(Plain.class).value()),
+                Plain.class, Wrapping.class);
+    }
+
+    /**
+     * The container is bound to the context classloader so it only runs while the index is visible.
+     */
+    private void startWithIndex(Runnable test, Class<?>... classes) throws Exception
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{ temp.getRoot().toURI().toURL() }, old))
+        {
+            thread.setContextClassLoader(loader);
+            addConfiguration(InterceptorResolutionIndex.ENABLED, "true");
+            addConfiguration(InterceptorResolutionIndex.OUTPUT, "");
+            startContainer(classes);
+            test.run();
+            shutDownContainer();
+        }
+        finally
+        {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    private BeanInterceptorInfo interceptorInfo(Class<?> type)
+    {
+        return ManagedBean.class.cast(getBean(type)).getOriginalInjectionTarget().getInterceptorInfo();
+    }
+
+    public static class BindingExtension implements Extension
+    {
+        void bind(@Observes ProcessAnnotatedType<Plain> pat)
+        {
+            pat.configureAnnotatedType().add(new WrappedLiteral());
+        }
+    }
+
+    @InterceptorBinding
+    @Target({ TYPE, METHOD })
+    @Retention(RUNTIME)
+    public @interface Wrapped
+    {
+    }
+
+    public static class WrappedLiteral extends AnnotationLiteral<Wrapped> implements Wrapped
+    {
+    }
+
+    @Wrapped
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class Wrapping
+    {
+        @AroundInvoke
+        public Object wrap(InvocationContext context) throws Exception
+        {
+            return "[" + context.proceed() + "]";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Wrapped
+        public String value()
+        {
+            return "ok";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Plain
+    {
+        public String value()
+        {
+            return "ok";
+        }
+    }
+}
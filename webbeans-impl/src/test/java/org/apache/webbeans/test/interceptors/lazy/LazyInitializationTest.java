@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.lazy;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.portable.AbstractProducer;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class LazyInitializationTest extends AbstractUnitTest
+{
+    @Test
+    public void interceptorStackIsDefinedOnFirstUsage() throws Exception
+    {
+        addConfiguration("org.apache.webbeans.spi.deployer.lazyInitialization", "true");
+        addConfiguration("org.apache.webbeans.spi.deployer.lazyInitialization.warmup", "false");
+        startContainer(Service.class, Wrapping.class);
+
+        AbstractProducer<?> producer = producer(Service.class);
+        assertNotNull(deferredDefinition(producer));
+
+        assertEquals("[ok]", getInstance(Service.class).value());
+        assertNull(deferredDefinition(producer));
+        assertNotNull(producer.getInterceptorInfo());
+    }
+
+    @Test
+    public void warmup() throws Exception
+    {
+        addConfiguration("org.apache.webbeans.spi.deployer.lazyInitialization", "true");
+        startContainer(Service.class, Wrapping.class);
+
+        AbstractProducer<?> producer = producer(Service.class);
+        for (int i = 0; i < 500 && deferredDefinition(producer) != null; i++)
+        {
+            Thread.sleep(10);
+        }
+        assertNull(deferredDefinition(producer));
+        assertEquals("[ok]", getInstance(Service.class).value());
+    }
+
+    @Test
+    public void warmupStopsWithTheContainer()
+    {
+        addConfiguration("org.apache.webbeans.spi.deployer.lazyInitialization", "true");
+        startContainer(Service.class, Wrapping.class);
+        shutDownContainer();
+
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            assertFalse(thread.isAlive() && "OpenWebBeans-lazy-initialization-warmup".equals(thread.getName()));
+        }
+    }
+
+    @Test
+    public void eagerByDefault() throws Exception
+    {
+        startContainer(Service.class, Wrapping.class);
+
+        assertNull(deferredDefinition(producer(Service.class)));
+        assertEquals("[ok]", getInstance(Service.class).value());
+    }
+
+    private AbstractProducer<?> producer(Class<?> type)
+    {
+        Bean<?> bean = getBean(type);
+        return ManagedBean.class.cast(bean).getOriginalInjectionTarget();
+    }
+
+    private static Object deferredDefinition(AbstractProducer<?> producer) throws Exception
+    {
+        Field field = AbstractProducer.class.getDeclaredField("deferredInterceptorStack");
+        field.setAccessible(true);
+        return field.get(producer);
+    }
+
+    @InterceptorBinding
+    @Target({ TYPE, METHOD })
+    @Retention(RUNTIME)
+    public @interface Wrapped
+    {
+    }
+
+    @Wrapped
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class Wrapping
+    {
+        @AroundInvoke
+        public Object wrap(InvocationContext context) throws Exception
+        {
+            return "[" + context.proceed() + "]";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Wrapped
+        public String value()
+        {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.jfr;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.apache.webbeans.jfr.FlightRecorderEvents;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FlightRecorderEventsTest extends AbstractUnitTest
+{
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testEventsAreRecorded() throws Exception
+    {
+        Path dump = temporaryFolder.newFile("owb.jfr").toPath();
+        try (Recording recording = new Recording())
+        {
+            for (String name : new String[] { "InstanceCreation", "Context", "EventFire", "InterceptorChain", "ProxyGeneration" })
+            {
+                recording.enable("org.apache.webbeans." + name);
+            }
+            recording.start();
+
+            addConfiguration(FlightRecorderEvents.ENABLED, "true");
+            startContainer(Counter.class, Traced.class, TracedInterceptor.class);
+            Assert.assertTrue(getWebBeansContext().isFlightRecorderEnabled());
+
+            startContext(RequestScoped.class);
+            getInstance(Counter.class).fire();
+            endContext(RequestScoped.class);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump);
+        for (RecordedEvent event : recorded)
+        {
+            String name = event.getEventType().getName();
+            if ("org.apache.webbeans.Context".equals(name) && event.getBoolean("started"))
+            {
+                name += ".started";
+            }
+            if ("org.apache.webbeans.InstanceCreation".equals(name))
+            {
+                name += "." + event.getClass("beanClass").getName();
+            }
+            if (!"org.apache.webbeans.EventFire".equals(name) || Ping.class.getName().equals(event.getClass("eventClass").getName()))
+            {
+                events.put(name, event);
+            }
+        }
+
+        RecordedEvent creation = events.get("org.apache.webbeans.InstanceCreation." + Counter.class.getName());
+        Assert.assertNotNull(recorded.toString(), creation);
+        Assert.assertEquals(RequestScoped.class.getName(), creation.getString("scope"));
+
+        Assert.assertEquals(RequestScoped.class.getName(), events.get("org.apache.webbeans.Context.started").getString("scope"));
+        Assert.assertFalse(events.get("org.apache.webbeans.Context").getBoolean("started"));
+
+        RecordedEvent fire = events.get("org.apache.webbeans.EventFire");
+        Assert.assertNotNull(fire);
+        Assert.assertEquals(1, fire.getInt("observers"));
+
+        RecordedEvent chain = events.get("org.apache.webbeans.InterceptorChain");
+        Assert.assertNotNull(chain);
+        Assert.assertEquals("onPing", chain.getString("method"));
+        Assert.assertEquals(1, chain.getInt("interceptors"));
+
+        Assert.assertNotNull(events.get("org.apache.webbeans.ProxyGeneration"));
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(Counter.class);
+        Assert.assertFalse(getWebBeansContext().isFlightRecorderEnabled());
+    }
+
+    public static class Ping
+    {
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({ TYPE, METHOD })
+    public @interface Trace
+    {
+    }
+
+    @Interceptor
+    @Trace
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class TracedInterceptor
+    {
+        @AroundInvoke
+        public Object trace(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Trace
+    public static class Traced
+    {
+        public void onPing(@Observes Ping ping)
+        {
+            // only intercepted
+        }
+    }
+
+    @RequestScoped
+    public static class Counter
+    {
+        @Inject
+        private Event<Ping> event;
+
+        public void fire()
+        {
+            event.fire(new Ping());
+        }
+    }
+}
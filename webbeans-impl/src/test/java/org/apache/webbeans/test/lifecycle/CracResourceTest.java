@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.lifecycle;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.ObservesAsync;
+
+import org.apache.webbeans.lifecycle.CracResource;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class CracResourceTest extends AbstractUnitTest
+{
+    @Test
+    public void asyncDeliveryIsHeldDuringCheckpoint() throws Exception
+    {
+        startContainer(AsyncObserver.class);
+
+        CracResource resource = new CracResource(getWebBeansContext(),
+                getWebBeansContext().getService(ContextsService.class), getWebBeansContext().getScannerService());
+        resource.beforeCheckpoint();
+
+        Checkpointed event = new Checkpointed();
+        CompletionStage<Checkpointed> delivery = getBeanManager().getEvent().select(Checkpointed.class).fireAsync(event);
+        Thread.sleep(100);
+        assertFalse(delivery.toCompletableFuture().isDone());
+        assertEquals(0, event.observed);
+
+        resource.afterRestore();
+        assertSame(event, delivery.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals(1, event.observed);
+
+        // the container keeps working normally after the restore
+        assertEquals(1, getBeanManager().getEvent().select(Checkpointed.class).fireAsync(new Checkpointed())
+                .toCompletableFuture().get(10, TimeUnit.SECONDS).observed);
+    }
+
+    @Test
+    public void closedResourceIsInactive() throws Exception
+    {
+        startContainer(AsyncObserver.class);
+
+        CracResource resource = new CracResource(getWebBeansContext(),
+                getWebBeansContext().getService(ContextsService.class), getWebBeansContext().getScannerService());
+        resource.close();
+        resource.beforeCheckpoint();
+
+        assertEquals(1, getBeanManager().getEvent().select(Checkpointed.class).fireAsync(new Checkpointed())
+                .toCompletableFuture().get(10, TimeUnit.SECONDS).observed);
+    }
+
+    public static class Checkpointed
+    {
+        private volatile int observed;
+    }
+
+    @ApplicationScoped
+    public static class AsyncObserver
+    {
+        public void observe(@ObservesAsync Checkpointed event)
+        {
+            event.observed++;
+        }
+    }
+}
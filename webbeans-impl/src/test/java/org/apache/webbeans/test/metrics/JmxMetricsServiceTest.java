@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.service.JmxMetricsService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JmxMetricsServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void testMetricsArePublished() throws Exception
+    {
+        JmxMetricsService metrics = new JmxMetricsService();
+        addService(MetricsService.class, metrics);
+        startContainer(Counter.class);
+
+        Counter counter = getInstance(Counter.class);
+        getInstance(Counter.class);
+        counter.fire();
+
+        Assert.assertEquals(Long.valueOf(1), metrics.getInstanceCounts().get(ApplicationScoped.class.getName()));
+        Assert.assertTrue(metrics.getResolutionCacheHits() > 0);
+        Assert.assertTrue(metrics.getProxyCounts().get("NormalScopeProxyFactory") > 0);
+
+        Map<String, long[]> events = metrics.getEventDispatchHistograms();
+        long[] histogram = events.get(Ping.class.getName());
+        Assert.assertNotNull(histogram);
+        Assert.assertEquals(metrics.getLatencyBucketBoundsNanos().length + 1, histogram.length);
+        Assert.assertEquals(1, histogram[0] + histogram[1] + histogram[2] + histogram[3]
+            + histogram[4] + histogram[5] + histogram[6] + histogram[7]);
+        Assert.assertEquals(1, counter.getPings());
+
+        ObjectName name = metrics.getObjectName();
+        Assert.assertNotNull(name);
+        Assert.assertEquals(metrics.getResolutionCacheHits(),
+            ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ResolutionCacheHits"));
+
+        metrics.close();
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    public static class Ping
+    {
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        @Inject
+        private Event<Ping> event;
+
+        private int pings;
+
+        public void fire()
+        {
+            event.fire(new Ping());
+        }
+
+        public void onPing(@Observes Ping ping)
+        {
+            pings++;
+        }
+
+        public int getPings()
+        {
+            return pings;
+        }
+    }
+}
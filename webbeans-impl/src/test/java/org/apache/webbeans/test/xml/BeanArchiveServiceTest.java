@@ -21,7 +21,12 @@ package org.apache.webbeans.test.xml;
 
 import javax.enterprise.inject.spi.DeploymentException;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
@@ -176,6 +181,65 @@ public class BeanArchiveServiceTest
 
 
 
+    @Test
+    public void testSameContentIsParsedOnce() throws Exception
+    {
+        String content = "<beans bean-discovery-mode=\"all\" version=\"2.0\">\n" +
+                "  <interceptors><class>org.foo.<!-- split -->MyInterceptor</class></interceptors>\n" +
+                "  <alternatives><stereotype><![CDATA[org.foo.MyStereotype]]></stereotype></alternatives>\n" +
+                "</beans>";
+        URL first = beansXml("first", content);
+        URL second = beansXml("second", content);
+
+        BeanArchiveService bas = new DefaultBeanArchiveService();
+        BeanArchiveInformation firstInfo = bas.getBeanArchiveInformation(first);
+        BeanArchiveInformation secondInfo = bas.getBeanArchiveInformation(second);
+        Assert.assertNotSame(firstInfo, secondInfo);
+        Assert.assertEquals(second.toExternalForm(), secondInfo.getBdaUrl());
+
+        for (BeanArchiveInformation bai : Arrays.asList(firstInfo, secondInfo))
+        {
+            Assert.assertEquals(BeanDiscoveryMode.ALL, bai.getBeanDiscoveryMode());
+            Assert.assertEquals("2.0", bai.getVersion());
+            Assert.assertEquals(Collections.singletonList("org.foo.MyInterceptor"), bai.getInterceptors());
+            Assert.assertEquals(Collections.singletonList("org.foo.MyStereotype"), bai.getAlternativeStereotypes());
+        }
+
+        // the instances do not share their state
+        firstInfo.getInterceptors().add("org.foo.Other");
+        Assert.assertEquals(1, secondInfo.getInterceptors().size());
+    }
+
+    @Test
+    public void testConditionalExcludeIsEvaluatedPerFile() throws Exception
+    {
+        String property = BeanArchiveServiceTest.class.getName() + ".exclude";
+        String content = "<beans bean-discovery-mode=\"all\" version=\"2.0\"><scan>" +
+                "<exclude name=\"org.foo.*\"><if-system-property name=\"" + property + "\" value=\"true\"/></exclude>" +
+                "</scan></beans>";
+        URL first = beansXml("first", content);
+        URL second = beansXml("second", content);
+
+        BeanArchiveService bas = new DefaultBeanArchiveService();
+        Assert.assertFalse(bas.getBeanArchiveInformation(first).isClassExcluded("org.foo.Bar"));
+        System.setProperty(property, "true");
+        try
+        {
+            Assert.assertTrue(bas.getBeanArchiveInformation(second).isClassExcluded("org.foo.Bar"));
+        }
+        finally
+        {
+            System.clearProperty(property);
+        }
+    }
+
+    private URL beansXml(String folder, String content) throws IOException
+    {
+        File beansXml = new File(tempFolder.newFolder(folder, "META-INF"), "beans.xml");
+        Files.write(beansXml.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return beansXml.toURI().toURL();
+    }
+
     private BeanArchiveInformation scanBeansXml(String name)
     {
         URL url = getClass().getClassLoader().getResource("org/apache/webbeans/test/xml/strict/" + name);
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.se;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Logger;
+
+import static java.util.Arrays.asList;
+
+/**
+ * {@link CDILauncher} training mode ({@code --openwebbeans.cds.training <folder>}) preparing
+ * an application class-data-sharing (AppCDS) archive:
+ * <ol>
+ *     <li>the application is booted once with {@link ClassLoaderProxyService.Spy} to capture its proxies,</li>
+ *     <li>proxies are written in {@code openwebbeans-proxies.jar} with a configuration loading them from the classpath
+ *     ({@link ClassLoaderProxyService.LoadFirst}) since CDS can only archive classes coming from a jar,</li>
+ *     <li>{@code classpath} and {@code jvm.options} (a {@code java @jvm.options ...} argument file) are written,</li>
+ *     <li>the application is launched again with {@code -XX:ArchiveClassesAtExit} to dump {@code openwebbeans.jsa}
+ *     (skipped with {@code --openwebbeans.cds.dump false}).</li>
+ * </ol>
+ */
+final class AppCDSTraining
+{
+    static final String TRAINING = "--openwebbeans.cds.training";
+    static final String DUMP = "--openwebbeans.cds.dump";
+    static final String WARMUP = "--openwebbeans.cds.warmup";
+
+    static final String PROXIES_JAR = "openwebbeans-proxies.jar";
+    static final String ARCHIVE = "openwebbeans.jsa";
+    static final String CLASSPATH = "classpath";
+    static final String JVM_OPTIONS = "jvm.options";
+
+    private static final Logger LOGGER = WebBeansLoggerFacade.getLogger(AppCDSTraining.class);
+
+    private AppCDSTraining()
+    {
+        // no-op
+    }
+
+    static void train(final SeContainerInitializer initializer, final String folder, final boolean dump,
+                      final String[] launcherArgs) throws IOException
+    {
+        final Path output = Paths.get(folder).toAbsolutePath();
+        Files.createDirectories(output);
+
+        final Map<String, byte[]> proxies;
+        ProxyCapture.configure(initializer);
+        try (SeContainer container = initializer.initialize())
+        {
+            proxies = new TreeMap<>(ProxyCapture.capture(ProxyCapture.context(container)));
+        }
+
+        final Path jar = output.resolve(PROXIES_JAR);
+        writeProxiesJar(jar, proxies);
+
+        final String classpath = System.getProperty("java.class.path") + File.pathSeparator + jar;
+        final Path archive = output.resolve(ARCHIVE);
+        Files.write(output.resolve(CLASSPATH), classpath.getBytes(StandardCharsets.UTF_8));
+        Files.write(output.resolve(JVM_OPTIONS), asList(
+                "-XX:SharedArchiveFile=" + quote(archive.toString()),
+                "-cp",
+                quote(classpath)));
+        LOGGER.info("Captured " + proxies.size() + " proxies in " + jar);
+
+        if (dump)
+        {
+            dumpArchive(archive, classpath, launcherArgs);
+            LOGGER.info("Created " + archive + ", launch the application with 'java @" + output.resolve(JVM_OPTIONS) + " ...'");
+        }
+    }
+
+    private static void writeProxiesJar(final Path jar, final Map<String, byte[]> proxies) throws IOException
+    {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar)))
+        {
+            for (final Map.Entry<String, byte[]> proxy : proxies.entrySet())
+            {
+                out.putNextEntry(new JarEntry(proxy.getKey().replace('.', '/') + ".class"));
+                out.write(proxy.getValue());
+                out.closeEntry();
+            }
+
+            out.putNextEntry(new JarEntry("META-INF/openwebbeans/openwebbeans.properties"));
+            writeProperties(out);
+            out.closeEntry();
+        }
+    }
+
+    private static void writeProperties(final OutputStream out) throws IOException
+    {
+        out.write(("# generated by the " + CDILauncher.class.getName() + " training\n" +
+                "configuration.ordinal=12\n" +
+                DefiningClassService.class.getName() + "=" + ClassLoaderProxyService.LoadFirst.class.getName() + "\n" +
+                ProxyCapture.USE_STATIC_NAMES + "=true\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void dumpArchive(final Path archive, final String classpath, final String[] launcherArgs) throws IOException
+    {
+        if (javaVersion() < 13)
+        {
+            throw new IllegalStateException("Dynamic CDS archives need java >= 13, use '" + DUMP + " false' " +
+                    "and dump the archive with your own JVM");
+        }
+
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:ArchiveClassesAtExit=" + archive);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(CDILauncher.class.getName());
+        command.add(WARMUP);
+        command.add("true");
+        command.addAll(withoutTrainingArgs(launcherArgs));
+
+        final Process process = new ProcessBuilder(command).inheritIO().start();
+        try
+        {
+            final int exitCode = process.waitFor();
+            if (exitCode != 0)
+            {
+                throw new IllegalStateException("Training run failed with exit code " + exitCode + ": " + command);
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Collection<String> withoutTrainingArgs(final String[] args)
+    {
+        final Collection<String> filtered = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++)
+        {
+            if (TRAINING.equals(args[i]) || DUMP.equals(args[i]) || WARMUP.equals(args[i]))
+            {
+                i++;
+                continue;
+            }
+            filtered.add(args[i]);
+        }
+        return filtered;
+    }
+
+    private static String quote(final String value)
+    {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static int javaVersion()
+    {
+        final String version = System.getProperty("java.specification.version", "1.8");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.openwebbeans.se;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -43,8 +44,24 @@ public final class CDILauncher
     {
         final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
         final Config config = configure(initializer, args);
+        if (config.training != null)
+        {
+            try
+            {
+                AppCDSTraining.train(initializer, config.training, config.dump, args);
+            }
+            catch (final IOException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            return;
+        }
         try (final SeContainer container = initializer.initialize())
         {
+            if (config.warmup)
+            {
+                ProxyCapture.touchNormalScopedProxies(ProxyCapture.context(container));
+            }
             if (config.main != null)
             {
                 executeMain(config, container);
@@ -149,6 +166,9 @@ public final class CDILauncher
     private static Config configure(final SeContainerInitializer initializer, final String[] args)
     {
         String main = null;
+        String training = null;
+        boolean dump = true;
+        boolean warmup = false;
         final Collection<String> remaining = new ArrayList<>(args.length);
         for (int i = 0; i < args.length; i++)
         {
@@ -167,6 +187,18 @@ public final class CDILauncher
                     }
                     main = args[i + 1];
                 }
+                else if (current.equals(AppCDSTraining.TRAINING))
+                {
+                    training = args[i + 1];
+                }
+                else if (current.equals(AppCDSTraining.DUMP))
+                {
+                    dump = Boolean.parseBoolean(args[i + 1]);
+                }
+                else if (current.equals(AppCDSTraining.WARMUP))
+                {
+                    warmup = Boolean.parseBoolean(args[i + 1]);
+                }
                 else
                 {
                     initializer.addProperty(current.substring("--".length()), args[i + 1]);
@@ -178,18 +210,25 @@ public final class CDILauncher
                 remaining.add(current);
             }
         }
-        return new Config(remaining.toArray(new String[0]), main);
+        return new Config(remaining.toArray(new String[0]), main, training, dump, warmup);
     }
 
     private static class Config
     {
         private final String[] args;
         private final String main;
+        private final String training;
+        private final boolean dump;
+        private final boolean warmup;
 
-        private Config(final String[] args, final String main)
+        private Config(final String[] args, final String main, final String training,
+                       final boolean dump, final boolean warmup)
         {
             this.args = args;
             this.main = main;
+            this.training = training;
+            this.dump = dump;
+            this.warmup = warmup;
         }
     }
 }
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.se;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.component.WebBeansType;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.ApplicationBoundaryService;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.ConversationService;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.InjectionPointService;
+import org.apache.webbeans.spi.InstantiatingClassService;
+import org.apache.webbeans.spi.JNDIService;
+import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.PassivationCodecService;
+import org.apache.webbeans.spi.ResourceInjectionService;
+import org.apache.webbeans.spi.ScannerService;
+import org.apache.webbeans.spi.SecurityService;
+import org.apache.webbeans.spi.SingletonService;
+import org.apache.webbeans.spi.TransactionService;
+import org.apache.webbeans.spi.ValidatorService;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.Bean;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Build step preparing an OpenWebBeans SE application for GraalVM native-image.
+ *
+ * It boots the container once on the JVM with {@link ClassLoaderProxyService.Spy} and static proxy names,
+ * forces the creation of the normal scoped proxies and dumps in the output folder:
+ * <ul>
+ *     <li>the generated proxy classes (to add to the native-image classpath),</li>
+ *     <li>{@code reflect-config.json} and {@code resource-config.json} under {@link #NATIVE_IMAGE_FOLDER},</li>
+ *     <li>an {@code openwebbeans.properties} switching the runtime to {@link ClassLoaderProxyService.LoadOnly}
+ *     and {@link PreScannedCDISeScannerService},</li>
+ *     <li>the {@link PreScannedSeContainerSelector} registration.</li>
+ * </ul>
+ *
+ * Usage: {@code NativeImageMetadataGenerator --output target/native-metadata [--openwebbeans.xxx value]*},
+ * the {@code --openwebbeans.*} options are the same as the {@link CDILauncher} ones.
+ */
+public final class NativeImageMetadataGenerator
+{
+    public static final String NATIVE_IMAGE_FOLDER = "META-INF/native-image/org.apache.openwebbeans/generated/";
+
+    private static final Logger LOGGER = WebBeansLoggerFacade.getLogger(NativeImageMetadataGenerator.class);
+
+    private static final Class<?>[] SERVICES = {
+        ApplicationBoundaryService.class, BeanArchiveService.class, ContainerLifecycle.class,
+        ContextsService.class, ConversationService.class, InjectionPointService.class,
+        JNDIService.class, LoaderService.class, PassivationCodecService.class,
+        ResourceInjectionService.class, ScannerService.class, SecurityService.class,
+        SingletonService.class, TransactionService.class, ValidatorService.class
+    };
+
+    private NativeImageMetadataGenerator()
+    {
+        // no-op
+    }
+
+    public static void main(final String[] args) throws IOException
+    {
+        final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
+        Path output = null;
+        for (int i = 0; i < args.length; i++)
+        {
+            final String current = args[i];
+            if (args.length <= i + 1)
+            {
+                throw new IllegalArgumentException("Missing argument value for: '" + current + "'");
+            }
+            if ("--output".equals(current))
+            {
+                output = Paths.get(args[i + 1]);
+            }
+            else if (current != null && current.startsWith("--openwebbeans."))
+            {
+                initializer.addProperty(current.substring("--".length()), args[i + 1]);
+            }
+            else
+            {
+                throw new IllegalArgumentException("Unknown argument: '" + current + "'");
+            }
+            i++;
+        }
+        if (output == null)
+        {
+            throw new IllegalArgumentException("Missing --output argument");
+        }
+        generate(initializer, output);
+    }
+
+    /**
+     * Boots the container configured by the given initializer and writes the native-image metadata.
+     *
+     * @param initializer the application initializer, proxy related services are forced by this method.
+     * @param output the root folder to generate the classes and metadata into.
+     */
+    public static void generate(final SeContainerInitializer initializer, final Path output) throws IOException
+    {
+        ProxyCapture.configure(initializer);
+        try (SeContainer container = initializer.initialize())
+        {
+            final WebBeansContext context = ProxyCapture.context(container);
+
+            final Collection<String> scannedClasses = new TreeSet<>();
+            final Collection<String> reflectedClasses = new TreeSet<>();
+            visitBeans(context, scannedClasses, reflectedClasses);
+            visitServices(context.getOpenWebBeansConfiguration(), reflectedClasses);
+
+            final Map<String, byte[]> proxies = ProxyCapture.capture(context);
+            for (final Map.Entry<String, byte[]> proxy : proxies.entrySet())
+            {
+                final Path target = output.resolve(proxy.getKey().replace('.', '/') + ".class");
+                Files.createDirectories(target.getParent());
+                Files.write(target, proxy.getValue());
+                reflectedClasses.add(proxy.getKey());
+            }
+
+            writeReflectConfig(output.resolve(NATIVE_IMAGE_FOLDER + "reflect-config.json"), reflectedClasses);
+            writeResourceConfig(output.resolve(NATIVE_IMAGE_FOLDER + "resource-config.json"));
+            writeRuntimeConfiguration(output, scannedClasses);
+
+            LOGGER.info("Generated native-image metadata for " + scannedClasses.size() + " classes and "
+                    + proxies.size() + " proxies in " + output);
+        }
+    }
+
+    private static void visitBeans(final WebBeansContext context,
+                                   final Collection<String> scannedClasses, final Collection<String> reflectedClasses)
+    {
+        final Collection<Bean<?>> beans = new ArrayList<>(context.getBeanManagerImpl().getBeans());
+        beans.addAll(context.getInterceptorsManager().getCdiInterceptors());
+        beans.addAll(context.getDecoratorsManager().getDecorators());
+        for (final Bean<?> bean : beans)
+        {
+            final Class<?> beanClass = bean.getBeanClass();
+            if (beanClass == null)
+            {
+                continue;
+            }
+            reflectedClasses.add(beanClass.getName());
+            bean.getQualifiers().stream().map(Annotation::annotationType).map(Class::getName).forEach(reflectedClasses::add);
+            bean.getStereotypes().stream().map(Class::getName).forEach(reflectedClasses::add);
+            reflectedClasses.add(bean.getScope().getName());
+
+            if (OwbBean.class.isInstance(bean))
+            {
+                final WebBeansType type = OwbBean.class.cast(bean).getWebBeansType();
+                if (type == WebBeansType.MANAGED || type == WebBeansType.INTERCEPTOR || type == WebBeansType.DECORATOR)
+                {
+                    scannedClasses.add(beanClass.getName());
+                }
+            }
+        }
+    }
+
+    private static void visitServices(final OpenWebBeansConfiguration configuration, final Collection<String> reflectedClasses)
+    {
+        Stream.of(SERVICES)
+                .map(it -> configuration.getProperty(it.getName()))
+                .filter(it -> it != null && !it.trim().isEmpty())
+                .map(String::trim)
+                .forEach(reflectedClasses::add);
+        reflectedClasses.add(ClassLoaderProxyService.LoadOnly.class.getName());
+        reflectedClasses.add(PreScannedCDISeScannerService.class.getName());
+    }
+
+    private static void writeReflectConfig(final Path target, final Collection<String> classes) throws IOException
+    {
+        Files.createDirectories(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8))
+        {
+            writer.write(classes.stream()
+                    .map(it -> "  {\n" +
+                            "    \"name\": \"" + escape(it) + "\",\n" +
+                            "    \"allDeclaredConstructors\": true,\n" +
+                            "    \"allPublicConstructors\": true,\n" +
+                            "    \"allDeclaredMethods\": true,\n" +
+                            "    \"allPublicMethods\": true,\n" +
+                            "    \"allDeclaredFields\": true\n" +
+                            "  }")
+                    .collect(joining(",\n", "[\n", "\n]\n")));
+        }
+    }
+
+    private static void writeResourceConfig(final Path target) throws IOException
+    {
+        Files.createDirectories(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8))
+        {
+            writer.write(Stream.of(
+                    "META-INF/beans\\.xml",
+                    "META-INF/openwebbeans/.*\\.properties",
+                    "META-INF/services/.*")
+                    .map(it -> "      {\"pattern\": \"" + escape(it) + "\"}")
+                    .collect(joining(",\n", "{\n  \"resources\": {\n    \"includes\": [\n", "\n    ]\n  }\n}\n")));
+        }
+    }
+
+    private static void writeRuntimeConfiguration(final Path output, final Collection<String> scannedClasses) throws IOException
+    {
+        final Path properties = output.resolve("META-INF/openwebbeans/openwebbeans.properties");
+        Files.createDirectories(properties.getParent());
+        try (Writer writer = Files.newBufferedWriter(properties, StandardCharsets.UTF_8))
+        {
+            writer.write("# generated by " + NativeImageMetadataGenerator.class.getName() + "\n");
+            writer.write("configuration.ordinal=12\n");
+            writer.write(DefiningClassService.class.getName() + "=" + ClassLoaderProxyService.LoadOnly.class.getName() + "\n");
+            writer.write(InstantiatingClassService.class.getName() + "=" + ClassLoaderProxyService.LoadOnly.class.getName() + "\n");
+            writer.write(ProxyCapture.USE_STATIC_NAMES + "=true\n");
+            writer.write(PreScannedCDISeScannerService.class.getName() + ".classes=" + String.join(",", scannedClasses) + "\n");
+        }
+
+        final Path selector = output.resolve("META-INF/services/" + SeContainerSelector.class.getName());
+        Files.createDirectories(selector.getParent());
+        Files.write(selector, (PreScannedSeContainerSelector.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String escape(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.se;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.service.ClassLoaderProxyService;
+import org.apache.webbeans.spi.DefiningClassService;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.Bean;
+
+import java.util.Map;
+
+/**
+ * Shared logic of the build steps needing the proxies generated by an application:
+ * they are recorded by {@link ClassLoaderProxyService.Spy} with static (reproducible) names.
+ */
+final class ProxyCapture
+{
+    static final String USE_STATIC_NAMES = "org.apache.webbeans.proxy.useStaticNames";
+
+    private ProxyCapture()
+    {
+        // no-op
+    }
+
+    static void configure(final SeContainerInitializer initializer)
+    {
+        initializer.addProperty(DefiningClassService.class.getName(), ClassLoaderProxyService.Spy.class.getName());
+        initializer.addProperty(USE_STATIC_NAMES, "true");
+    }
+
+    static WebBeansContext context(final SeContainer container)
+    {
+        if (!OWBContainer.class.isInstance(container))
+        {
+            throw new IllegalArgumentException("Only OpenWebBeans containers are supported, got " + container);
+        }
+        return OWBContainer.class.cast(container).context;
+    }
+
+    /**
+     * Forces the creation of the normal scoped proxies (dependent subclass proxies are created at deployment time).
+     */
+    static void touchNormalScopedProxies(final WebBeansContext context)
+    {
+        final BeanManagerImpl beanManager = context.getBeanManagerImpl();
+        for (final Bean<?> bean : beanManager.getBeans())
+        {
+            final Class<?> beanClass = bean.getBeanClass();
+            if (beanClass != null && beanManager.isNormalScope(bean.getScope()))
+            {
+                final CreationalContext<?> creationalContext = beanManager.createCreationalContext(bean);
+                beanManager.getReference(bean, bean.getTypes().contains(beanClass) ? beanClass : Object.class, creationalContext);
+            }
+        }
+    }
+
+    /**
+     * @return the bytecode of all the proxies of the application by proxy class name.
+     */
+    static Map<String, byte[]> capture(final WebBeansContext context)
+    {
+        final DefiningClassService definingService = context.getService(DefiningClassService.class);
+        if (!ClassLoaderProxyService.Spy.class.isInstance(definingService))
+        {
+            throw new IllegalStateException("Proxy generation is not spied, got " + definingService);
+        }
+        touchNormalScopedProxies(context);
+        return ClassLoaderProxyService.Spy.class.cast(definingService).getProxies();
+    }
+}
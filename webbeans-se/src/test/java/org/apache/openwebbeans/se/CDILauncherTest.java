@@ -20,16 +20,27 @@ package org.apache.openwebbeans.se;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.jar.JarFile;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Named;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class CDILauncherTest
 {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void namedRunnable()
     {
@@ -71,6 +82,29 @@ public class CDILauncherTest
         }, MyMain.args);
     }
 
+    @Test
+    public void cdsTraining() throws IOException
+    {
+        final File output = folder.newFolder();
+        CDILauncher.main(new String[]{
+                "--openwebbeans.cds.training", output.getAbsolutePath(),
+                "--openwebbeans.cds.dump", "false",
+                "--openwebbeans.main", MyTrained.class.getName(),
+                "--openwebbeans.disableDiscovery", "true",
+                "--openwebbeans.classes", MyTrained.class.getName()
+        });
+        assertFalse(MyTrained.ran);
+        try (final JarFile jar = new JarFile(new File(output, "openwebbeans-proxies.jar")))
+        {
+            assertNotNull(jar.getEntry("META-INF/openwebbeans/openwebbeans.properties"));
+            assertTrue(jar.stream().anyMatch(it -> it.getName().startsWith(
+                    MyTrained.class.getName().replace('.', '/') + "$$Owb")));
+        }
+        assertTrue(new String(Files.readAllBytes(new File(output, "jvm.options").toPath()))
+                .contains("-XX:SharedArchiveFile="));
+        assertTrue(new File(output, "classpath").isFile());
+    }
+
     @Named("main")
     @ApplicationScoped
     public static class MyRunnable implements Runnable
@@ -106,4 +140,16 @@ public class CDILauncherTest
             MyMain.args = args;
         }
     }
+
+    @ApplicationScoped
+    public static class MyTrained implements Runnable
+    {
+        static boolean ran = false;
+
+        @Override
+        public void run()
+        {
+            ran = true;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.se;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NativeImageMetadataGeneratorTest
+{
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generate() throws IOException
+    {
+        final Path output = folder.getRoot().toPath();
+        NativeImageMetadataGenerator.generate(SeContainerInitializer.newInstance()
+                .disableDiscovery()
+                .addBeanClasses(Service.class, Client.class), output);
+
+        final String reflect = new String(Files.readAllBytes(
+                output.resolve(NativeImageMetadataGenerator.NATIVE_IMAGE_FOLDER + "reflect-config.json")), StandardCharsets.UTF_8);
+        assertTrue(reflect, reflect.contains("\"" + Service.class.getName() + "\""));
+        assertTrue(reflect, reflect.contains("\"" + Client.class.getName() + "\""));
+        assertTrue(reflect, reflect.contains("\"" + PreScannedCDISeScannerService.class.getName() + "\""));
+        assertTrue(Files.exists(output.resolve(NativeImageMetadataGenerator.NATIVE_IMAGE_FOLDER + "resource-config.json")));
+
+        final Path proxies = output.resolve(Service.class.getPackage().getName().replace('.', '/'));
+        try (Stream<Path> files = Files.list(proxies))
+        {
+            assertTrue(files.anyMatch(it -> it.getFileName().toString().startsWith(
+                    Service.class.getName().substring(Service.class.getPackage().getName().length() + 1))));
+        }
+
+        final Properties configuration = new Properties();
+        try (Reader reader = Files.newBufferedReader(
+                output.resolve("META-INF/openwebbeans/openwebbeans.properties"), StandardCharsets.UTF_8))
+        {
+            configuration.load(reader);
+        }
+        assertEquals(
+                Stream.of(Client.class.getName(), Service.class.getName()).sorted().reduce((a, b) -> a + ',' + b).get(),
+                configuration.getProperty(PreScannedCDISeScannerService.class.getName() + ".classes"));
+
+        // now boot with the generated metadata only: pre-scanned classes and pre-generated proxies
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{ new File(output.toString()).toURI().toURL() }, old))
+        {
+            thread.setContextClassLoader(loader);
+            try (SeContainer container = SeContainerInitializer.newInstance().initialize())
+            {
+                final Client client = container.select(Client.class).get();
+                assertEquals("ok", client.call());
+                assertEquals(loader, client.service.getClass().getClassLoader());
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String value()
+        {
+            return "ok";
+        }
+    }
+
+    @Dependent
+    public static class Client
+    {
+        @Inject
+        private Service service;
+
+        public String call()
+        {
+            return service.value();
+        }
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.openwebbeans.slf4j;
 
+import org.apache.webbeans.logger.MessageTemplate;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansConstants;
 import org.slf4j.spi.LocationAwareLogger;
 
 import java.util.Locale;
@@ -37,6 +40,17 @@ class Slf4jLogger extends Logger
     private final org.slf4j.Logger logger;
     private final LocationAwareLogger locationAwareLogger;
 
+    /**
+     * Whether the messages come from the OpenWebBeans bundle.
+     */
+    private final boolean owbMessages;
+
+    /**
+     * True while no JUL handler or filter is involved, the messages then directly go to slf4j
+     * without a {@link LogRecord}.
+     */
+    private volatile boolean direct;
+
     Slf4jLogger(final String name, final String resourceBundleName)
     {
         super(name, resourceBundleName);
@@ -49,6 +63,41 @@ class Slf4jLogger extends Logger
         {
             locationAwareLogger = null;
         }
+        owbMessages = WebBeansConstants.WEB_BEANS_MESSAGES.equals(resourceBundleName);
+        direct = owbMessages;
+    }
+
+    @Override
+    public void setFilter(final Filter newFilter)
+    {
+        super.setFilter(newFilter);
+        updateDirect();
+    }
+
+    @Override
+    public void addHandler(final Handler handler)
+    {
+        super.addHandler(handler);
+        updateDirect();
+    }
+
+    @Override
+    public void removeHandler(final Handler handler)
+    {
+        super.removeHandler(handler);
+        updateDirect();
+    }
+
+    @Override
+    public void setUseParentHandlers(final boolean useParentHandlers)
+    {
+        super.setUseParentHandlers(useParentHandlers);
+        updateDirect();
+    }
+
+    private void updateDirect()
+    {
+        direct = owbMessages && getFilter() == null && getHandlers().length == 0 && getUseParentHandlers();
     }
 
     @Override
@@ -65,6 +114,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(level))
         {
+            if (direct)
+            {
+                logDirect(level, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(level, msg));
         }
     }
@@ -74,6 +128,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(level))
         {
+            if (direct)
+            {
+                logDirect(level, msg, new Object[]{param1}, null);
+                return;
+            }
             final LogRecord lr = new LogRecord(level, msg);
             lr.setParameters(new Object[]{param1});
             doLog(lr);
@@ -85,6 +144,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(level))
         {
+            if (direct)
+            {
+                logDirect(level, msg, params, null);
+                return;
+            }
             final LogRecord lr = new LogRecord(level, msg);
             lr.setParameters(params);
             doLog(lr);
@@ -96,6 +160,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(level))
         {
+            if (direct)
+            {
+                logDirect(level, msg, null, thrown);
+                return;
+            }
             final LogRecord lr = new LogRecord(level, msg);
             lr.setThrown(thrown);
             doLog(lr);
@@ -283,6 +352,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.SEVERE))
         {
+            if (direct)
+            {
+                logDirect(Level.SEVERE, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.SEVERE, msg));
         }
     }
@@ -292,6 +366,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.WARNING))
         {
+            if (direct)
+            {
+                logDirect(Level.WARNING, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.WARNING, msg));
         }
     }
@@ -301,6 +380,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.INFO))
         {
+            if (direct)
+            {
+                logDirect(Level.INFO, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.INFO, msg));
         }
     }
@@ -310,6 +394,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.CONFIG))
         {
+            if (direct)
+            {
+                logDirect(Level.CONFIG, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.CONFIG, msg));
         }
     }
@@ -319,6 +408,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.FINE))
         {
+            if (direct)
+            {
+                logDirect(Level.FINE, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.FINE, msg));
         }
     }
@@ -328,6 +422,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.FINER))
         {
+            if (direct)
+            {
+                logDirect(Level.FINER, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.FINER, msg));
         }
     }
@@ -337,6 +436,11 @@ class Slf4jLogger extends Logger
     {
         if (isLoggable(Level.FINEST))
         {
+            if (direct)
+            {
+                logDirect(Level.FINEST, msg, null, null);
+                return;
+            }
             doLog(new LogRecord(Level.FINEST, msg));
         }
     }
@@ -498,6 +602,28 @@ class Slf4jLogger extends Logger
         return logger.isTraceEnabled();
     }
 
+    private void logDirect(final Level level, final String msg, final Object[] params, final Throwable thrown)
+    {
+        final MessageTemplate template = WebBeansLoggerFacade.getMessageTemplate(msg);
+        String formatted;
+        if (params == null || params.length == 0)
+        {
+            formatted = template.getPattern();
+        }
+        else
+        {
+            try
+            {
+                formatted = template.format(params);
+            }
+            catch (final IllegalArgumentException ex)
+            {
+                formatted = template.getPattern();
+            }
+        }
+        dispatch(level, formatted, thrown);
+    }
+
     private void internalLogFormatted(final String msg, final LogRecord record)
     {
         final Level level = record.getLevel();
@@ -515,6 +641,11 @@ class Slf4jLogger extends Logger
             return;
         }
 
+        dispatch(level, msg, t);
+    }
+
+    private void dispatch(final Level level, final String msg, final Throwable t)
+    {
         if (Level.FINE.equals(level))
         {
             if (locationAwareLogger == null)
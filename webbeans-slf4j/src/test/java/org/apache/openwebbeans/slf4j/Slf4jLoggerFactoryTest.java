@@ -26,9 +26,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class Slf4jLoggerFactoryTest {
@@ -36,7 +38,21 @@ public class Slf4jLoggerFactoryTest {
     public void ensureLogGoesOnSlf4j() {
         final Logger logger = WebBeansLoggerFacade.getLogger(Slf4jLoggerFactoryTest.class);
         assertTrue(logger.getClass().getName(), Slf4jLogger.class.isInstance(logger));
+        assertEquals(
+                "[main] INFO " + getClass().getName() + " - test log\n",
+                captureErr(() -> logger.info("test log")));
+    }
+
+    @Test
+    public void ensureBundleMessagesAreFormatted() {
+        final Logger logger = WebBeansLoggerFacade.getLogger(Slf4jLoggerFactoryTest.class);
+        assertFalse(logger.isLoggable(Level.FINE));
+        assertEquals(
+                "[main] INFO " + getClass().getName() + " - Adding resolved beans with key [k] to cache.\n",
+                captureErr(() -> logger.log(Level.INFO, "DEBUG_ADD_BYTYPE_CACHE_BEANS", "k")));
+    }
 
+    private static String captureErr(final Runnable task) {
         final PrintStream original = System.err;
         final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
         System.setErr(new PrintStream(new OutputStream() {
@@ -60,12 +76,10 @@ public class Slf4jLoggerFactoryTest {
             }
         }));
         try {
-            logger.info("test log");
+            task.run();
         } finally {
             System.setErr(original);
         }
-        assertEquals(
-                "[main] INFO " + getClass().getName() + " - test log\n",
-                new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * SPI interface to collect runtime metrics of the container, e.g. to publish them via JMX
+ * or a metrics library.
+ *
+ * The container only reports to the service if {@link #isEnabled()} returns {@code true},
+ * so a disabled service costs a single boolean check per instrumented call.
+ * Implementations get invoked concurrently and must not block.
+ */
+public interface MetricsService
+{
+    /**
+     * @return {@code false} if the container shall not report anything
+     */
+    boolean isEnabled();
+
+    /**
+     * A contextual instance got created.
+     * @param scope the scope of the bean
+     */
+    void instanceCreated(Class<? extends Annotation> scope);
+
+    /**
+     * A contextual instance got destroyed.
+     * @param scope the scope of the bean
+     */
+    void instanceDestroyed(Class<? extends Annotation> scope);
+
+    /**
+     * The bean resolution cache got queried for an injection point or a programmatic lookup.
+     * @param hit {@code true} if the resolved beans were cached already
+     */
+    void resolutionCacheLookup(boolean hit);
+
+    /**
+     * An event got delivered to its synchronous observers, or handed over to the asynchronous ones.
+     * @param eventType the class of the event instance
+     * @param nanos the time it took, in nanoseconds
+     */
+    void eventDispatched(Class<?> eventType, long nanos);
+
+    /**
+     * A business method invocation went through its interceptor chain.
+     * @param beanClass the class of the intercepted instance
+     * @param nanos the time it took including the target method, in nanoseconds
+     */
+    void interceptorChainInvoked(Class<?> beanClass, long nanos);
+
+    /**
+     * A proxy class got generated.
+     * @param proxyKind the kind of proxy, e.g. the simple name of the proxy factory
+     * @param proxiedClass the class the proxy got generated for
+     */
+    void proxyGenerated(String proxyKind, Class<?> proxiedClass);
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import javax.enterprise.context.spi.CreationalContext;
+
+/**
+ * SPI interface to define the format used to passivate the contextual instances
+ * of passivating contexts, e.g. when a session gets written to disk or replicated.
+ *
+ * The passivation id of each bean gets handed over together with its
+ * CreationalContext and contextual instance, so implementations can stream them
+ * without building any intermediate structure.
+ */
+public interface PassivationCodecService
+{
+    /**
+     * Write all the contextual instances of a passivating context.
+     * @param out the stream to write to
+     * @param instances the contextual instances of the context
+     * @throws IOException if writing fails
+     */
+    void write(ObjectOutput out, PassivatedInstances instances) throws IOException;
+
+    /**
+     * Read contextual instances previously written by {@link #write(ObjectOutput, PassivatedInstances)}.
+     * @param in the stream to read from
+     * @param visitor gets invoked for each contextual instance read from the stream
+     * @throws IOException if reading fails
+     * @throws ClassNotFoundException if a class of the stream cannot be loaded
+     */
+    void read(ObjectInput in, InstanceVisitor visitor) throws IOException, ClassNotFoundException;
+
+    /**
+     * The contextual instances of a passivating context.
+     * It is a snapshot: {@link #forEach(InstanceVisitor)} visits exactly {@link #size()} instances
+     * even if the context changes while it gets written.
+     */
+    interface PassivatedInstances
+    {
+        /**
+         * @return the number of contextual instances
+         */
+        int size();
+
+        /**
+         * Invoke the visitor for each contextual instance.
+         * @param visitor the callback
+         * @throws IOException if the visitor fails
+         */
+        void forEach(InstanceVisitor visitor) throws IOException;
+    }
+
+    /**
+     * Callback for a single contextual instance.
+     */
+    interface InstanceVisitor
+    {
+        /**
+         * @param passivationId the passivation id of the bean
+         * @param creationalContext the CreationalContext of the contextual instance
+         * @param instance the contextual instance, can be {@code null}
+         * @throws IOException if the instance cannot be handled
+         */
+        void visit(String passivationId, CreationalContext<?> creationalContext, Object instance) throws IOException;
+    }
+}
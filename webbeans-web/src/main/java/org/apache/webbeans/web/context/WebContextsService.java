@@ -35,7 +35,7 @@ import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.jfr.FlightRecorderEvents;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -51,6 +51,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -148,7 +149,6 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 
@@ -218,11 +218,15 @@ public class WebContextsService extends AbstractContextsService
     {        
         if(scopeType.equals(RequestScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             destroyRequestContext(endParameters);
+            FlightRecorderEvents.endContext(recorded, RequestScoped.class, false);
         }
         else if(scopeType.equals(SessionScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             destroySessionContext(endParameters);
+            FlightRecorderEvents.endContext(recorded, SessionScoped.class, false);
         }
         else if(scopeType.equals(ApplicationScoped.class))
         {
@@ -300,6 +304,46 @@ public class WebContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Supplier<Context> getCurrentContextSupplier(Class<? extends Annotation> scopeType)
+    {
+        if (!isCurrentContextDeclaredBy(WebContextsService.class))
+        {
+            return super.getCurrentContextSupplier(scopeType);
+        }
+
+        if(scopeType.equals(RequestScoped.class))
+        {
+            return () -> getRequestContext(false);
+        }
+        else if(scopeType.equals(SessionScoped.class))
+        {
+            // session gets created lazily, so we need to force the creation
+            return () -> getSessionContext(true);
+        }
+        else if(scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if(scopeType.equals(ConversationScoped.class))
+        {
+            return () -> getConversationContext(false, false);
+        }
+        else if(scopeType.equals(Dependent.class))
+        {
+            return () -> dependentContext;
+        }
+        else if (scopeType.equals(Singleton.class))
+        {
+            return () -> singletonContext;
+        }
+
+        return null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -308,11 +352,15 @@ public class WebContextsService extends AbstractContextsService
     {
         if (scopeType.equals(RequestScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             initRequestContext(startParameter);
+            FlightRecorderEvents.endContext(recorded, RequestScoped.class, true);
         }
         else if (scopeType.equals(SessionScoped.class))
         {
+            Object recorded = webBeansContext.isFlightRecorderEnabled() ? FlightRecorderEvents.beginContext() : null;
             initSessionContext(startParameter);
+            FlightRecorderEvents.endContext(recorded, SessionScoped.class, true);
         }
         else if (scopeType.equals(ApplicationScoped.class))
         {
@@ -461,7 +509,6 @@ public class WebContextsService extends AbstractContextsService
         }
 
         // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
         SessionScopedBeanInterceptorHandler.removeThreadLocals();
 
         //Clear thread locals